@@ -7,11 +7,17 @@ import * as cloudwatch from 'aws-cdk-lib/aws-cloudwatch';
 import * as sns from 'aws-cdk-lib/aws-sns';
 import * as subscriptions from 'aws-cdk-lib/aws-sns-subscriptions';
 import * as budgets from 'aws-cdk-lib/aws-budgets';
+import * as secretsmanager from 'aws-cdk-lib/aws-secretsmanager';
 
 interface ApiStackProps extends cdk.StackProps {
   stage: string;
   budgetLimit: number;
   budgetEmail: string;
+  /**
+   * Deploy the GraalVM native executable (built with `mvn -Pnative package`) on the
+   * provided.al2023 runtime instead of the JVM jar. Defaults to false.
+   */
+  nativeImage?: boolean;
 }
 
 export class ApiStack extends cdk.Stack {
@@ -138,31 +144,80 @@ export class ApiStack extends cdk.Stack {
       },
     });
 
+    // =========================================================================
+    // SECURITY: Page Token Signing Key
+    // =========================================================================
+    // Random key the API signs pagination tokens with, so clients cannot forge or alter them.
+    // A CloudFormation-generated secret is the only option that needs no manual setup
+    // (SSM SecureString parameters cannot be created by CloudFormation); it costs $0.40/month.
+    const paginationSecret = new secretsmanager.Secret(this, 'PaginationSecret', {
+      secretName: `${prefix}-api-pagination-secret`,
+      description: `${prefix} API page token signing key`,
+      generateSecretString: {
+        passwordLength: 64,
+        excludePunctuation: true,
+      },
+    });
+
     // =========================================================================
     // API: Lambda Function with URL
     // =========================================================================
     // Create a Lambda function for the API
     // Using Java runtime with Coral implementation
+    const nativeImage = props.nativeImage ?? false;
     const apiFunction = new lambda.Function(this, 'ApiFunction', {
       functionName: `${prefix}-api-handler`,
-      runtime: lambda.Runtime.JAVA_11,
-      handler: 'com.example.api.ApiHandler::handleRequest',
-      code: lambda.Code.fromAsset('../service/target/api-service-1.0-SNAPSHOT.jar'),
-      memorySize: 512, // Java requires more memory than Node.js
+      ...(nativeImage
+        ? {
+            // Native executable started by the bootstrap script in the deployment package
+            runtime: new lambda.Runtime('provided.al2023', lambda.RuntimeFamily.OTHER),
+            handler: 'bootstrap',
+            code: lambda.Code.fromAsset('../service/target/api-service-1.0-SNAPSHOT-function.zip'),
+            memorySize: 256, // No JVM heap or JIT to size for
+          }
+        : {
+            runtime: lambda.Runtime.JAVA_17, // Matches the service's Java 17 bytecode and supports SnapStart
+            handler: 'com.example.api.ApiHandler::handleRequest',
+            code: lambda.Code.fromAsset('../service/target/api-service-1.0-SNAPSHOT.jar'),
+            memorySize: 512, // Java requires more memory than Node.js
+          }),
       timeout: cdk.Duration.seconds(15), // Longer timeout for Java cold starts
       environment: {
         TABLE_NAME: table.tableName,
         USER_POOL_ID: userPool.userPoolId,
         CLIENT_ID: userPoolClient.userPoolClientId,
         STAGE: props.stage,
+        // Only the ARN: the function reads the value once while it initializes (before the SnapStart
+        // snapshot), so the key never appears in the function's configuration
+        PAGINATION_SECRET_ARN: paginationSecret.secretArn,
+        METRICS_NAMESPACE: `${prefix}-api`, // Per-route metrics published through the function's logs
       },
     });
 
     // Grant the Lambda function read/write access to the DynamoDB table
     table.grantReadWriteData(apiFunction);
 
+    // Grant the Lambda function read access to the pagination signing key
+    paginationSecret.grantRead(apiFunction);
+
+    // Enable SnapStart: published versions are initialized (and primed by ApiHandler.beforeCheckpoint)
+    // once at publish time, and new execution environments are restored from that snapshot.
+    // SnapStart has no additional cost for Java functions.
+    // SnapStart is not available for custom runtimes, which the native executable does not need anyway.
+    if (!nativeImage) {
+      (apiFunction.node.defaultChild as lambda.CfnFunction).snapStart = {
+        applyOn: 'PublishedVersions',
+      };
+    }
+
+    // SnapStart only applies to published versions, so traffic is served through an alias
+    const liveAlias = new lambda.Alias(this, 'ApiFunctionLiveAlias', {
+      aliasName: 'live',
+      version: apiFunction.currentVersion,
+    });
+
     // Create a Lambda Function URL (free alternative to API Gateway)
-    const functionUrl = apiFunction.addFunctionUrl({
+    const functionUrl = liveAlias.addFunctionUrl({
       authType: lambda.FunctionUrlAuthType.NONE, // Public access
       cors: {
         allowedOrigins: ['*'], // Allow all origins for testing
@@ -5,26 +5,69 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.example.api.handlers.*;
-import com.example.api.model.Error;
+import com.example.api.routing.RouteMatch;
+import com.example.api.routing.Router;
+import com.example.api.service.IdGenerator;
+import com.example.api.utils.AccessLog;
+import com.example.api.utils.ErrorBodies;
+import com.example.api.utils.ErrorLog;
 import com.example.api.utils.HeaderUtils;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.api.utils.JsonCodec;
+import com.example.api.utils.Lazy;
+import com.example.api.utils.ResponseCompressor;
+import com.example.api.utils.RouteMetrics;
+import org.crac.Core;
+import org.crac.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
-public class ApiHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+public class ApiHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent>, Resource {
     private static final Logger logger = LoggerFactory.getLogger(ApiHandler.class);
-    private final Map<RouteKey, RouteHandler> handlers;
-    private final ObjectMapper objectMapper;
+    private static final ErrorLog errorLog = ErrorLog.shared();
+    private final Router<Lazy<RouteHandler>> router;
+    private final List<Lazy<RouteHandler>> routeHandlers;
+    // Metric names of the routes, such as "GET /items/{itemId}", by their router targets
+    private final Map<Lazy<RouteHandler>, String> routeNames;
+    private final ApplicationContext context;
+    private final JsonCodec json;
+    private final ResponseCompressor compressor;
+    private final AccessLog accessLog;
+    private final RouteMetrics metrics;
+    
+    // Bodies of the responses the handler itself sends
+    private final String unauthorizedBody;
+    private final String notFoundBody;
+    private final String internalErrorBody;
 
     public ApiHandler() {
-        this.objectMapper = new ObjectMapper();
-        this.handlers = new HashMap<>();
+        this(new ApplicationContext());
+        
+        // Receive beforeCheckpoint/afterRestore callbacks when running with SnapStart
+        Core.getGlobalContext().register(this);
+        
+        // Lambda signals the runtime before shutting the execution environment down
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "api-handler-flush"));
+    }
+
+    public ApiHandler(ApplicationContext context) {
+        this.context = context;
+        this.json = context.timed("JsonCodec", JsonCodec::shared);
+        this.compressor = ResponseCompressor.fromEnvironment();
+        this.accessLog = AccessLog.fromEnvironment();
+        this.metrics = RouteMetrics.fromEnvironment();
+        ErrorBodies errorBodies = ErrorBodies.shared();
+        this.unauthorizedBody = errorBodies.body("UNAUTHORIZED", "Missing or invalid authentication token");
+        this.notFoundBody = errorBodies.body("NOT_FOUND", "Resource not found");
+        this.internalErrorBody = errorBodies.body("INTERNAL_SERVER_ERROR", "An internal server error occurred");
+        this.router = new Router<>();
+        this.routeHandlers = new ArrayList<>();
+        this.routeNames = new IdentityHashMap<>();
         
         // Register handlers for each route
         registerHandlers();
@@ -32,144 +75,157 @@ public class ApiHandler implements RequestHandler<APIGatewayProxyRequestEvent, A
     
     private void registerHandlers() {
         // Public endpoint
-        handlers.put(new RouteKey("GET", "/public"), new GetPublicDataHandler());
+        register("GET", "/public", GetPublicDataHandler::new);
         
         // Protected endpoint
-        handlers.put(new RouteKey("GET", "/protected"), new GetProtectedDataHandler());
+        register("GET", "/protected", GetProtectedDataHandler::new);
         
         // Item management endpoints
-        handlers.put(new RouteKey("GET", "/items"), new ListItemsHandler());
-        handlers.put(new RouteKey("POST", "/items"), new CreateItemHandler());
-        handlers.put(new RouteKey("GET", "/items/{itemId}"), new GetItemHandler());
-        handlers.put(new RouteKey("PUT", "/items/{itemId}"), new UpdateItemHandler());
-        handlers.put(new RouteKey("DELETE", "/items/{itemId}"), new DeleteItemHandler());
+        register("GET", "/items", () -> new ListItemsHandler(context.itemService()));
+        register("POST", "/items", () -> new CreateItemHandler(context.itemService()));
+        register("POST", "/items/batch", () -> new BatchCreateItemsHandler(context.itemService()));
+        register("POST", "/items/batch-get", () -> new BatchGetItemsHandler(context.itemService()));
+        register("POST", "/items/batch-delete", () -> new BatchDeleteItemsHandler(context.itemService()));
+        register("GET", "/items/{itemId}", () -> new GetItemHandler(context.itemService()));
+        register("PUT", "/items/{itemId}", () -> new UpdateItemHandler(context.itemService()));
+        register("DELETE", "/items/{itemId}", () -> new DeleteItemHandler(context.itemService()));
         
         // Add new handlers here when adding new endpoints
     }
+    
+    /**
+     * Registers a route whose handler is created the first time the route is requested.
+     */
+    private void register(String method, String path, Supplier<RouteHandler> factory) {
+        String component = method + " " + path;
+        Lazy<RouteHandler> handler = Lazy.of(() -> context.timed(component, factory));
+        router.add(method, path, handler);
+        routeHandlers.add(handler);
+        routeNames.put(handler, component);
+    }
+    
+    /**
+     * Warms the request path before a SnapStart snapshot is taken.
+     * <p>
+     * Synthetic requests are replayed through a separate handler backed by an in-memory store, which loads and
+     * initializes Jackson, the router, the route handlers and the enhanced client's table schema and mappers
+     * without touching the real table. The real DynamoDB client is then built and discarded so that its classes
+     * are initialized in the snapshot but no pooled connection is captured.
+     */
+    @Override
+    public void beforeCheckpoint(org.crac.Context<? extends Resource> cracContext) {
+        long start = System.nanoTime();
+        List<Priming.PrimedRequest> primed = Priming.run(new ApiHandler(ApplicationContext.forPriming()));
+        context.itemService();
+        resetComponents();
+        logger.info("Primed {} requests before checkpoint in {} ms", primed.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Restores per-environment state after a SnapStart restore: reseeds the item id generator, which would
+     * otherwise be identical in every environment restored from the snapshot, builds a new DynamoDB client so
+     * the first request does not pay for it, and starts a new metrics aggregate.
+     */
+    @Override
+    public void afterRestore(org.crac.Context<? extends Resource> cracContext) {
+        long start = System.nanoTime();
+        IdGenerator.reseed();
+        metrics.reset();
+        resetComponents();
+        context.itemService();
+        logger.info("Restored application context in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Writes out the route metrics aggregate and logs the counts of repeated errors not yet reported. Called
+     * when the process shuts down, since nothing else would write them once requests stop.
+     */
+    public void flush() {
+        metrics.flush();
+        errorLog.flush();
+    }
+    
+    ApplicationContext context() {
+        return context;
+    }
+    
+    private void resetComponents() {
+        routeHandlers.forEach(Lazy::reset);
+        context.reset();
+    }
 
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
-        logger.info("Received request: {}", input);
-
+        long start = System.nanoTime();
+        RouteMatch<Lazy<RouteHandler>> match = router.match(input.getHttpMethod(), input.getPath());
+        APIGatewayProxyResponseEvent response = compressor.apply(input, dispatch(input, context, match));
+        long latencyNanos = System.nanoTime() - start;
+        accessLog.log(input, match != null ? match.template() : null, response, latencyNanos,
+                requestId(input, context));
+        // Written out before recording, so that a request counts towards the aggregate covering its own time
+        metrics.flushIfDue();
+        metrics.record(match != null ? routeNames.get(match.target()) : RouteMetrics.UNMATCHED_ROUTE,
+                response.getStatusCode() != null ? response.getStatusCode() : 0,
+                latencyNanos,
+                AccessLog.bodyBytes(input.getBody(), input.getIsBase64Encoded()),
+                AccessLog.bodyBytes(response.getBody(), response.getIsBase64Encoded()));
+        errorLog.flushIfDue();
+        return response;
+    }
+    
+    private APIGatewayProxyResponseEvent dispatch(APIGatewayProxyRequestEvent input, Context context,
+                                                  RouteMatch<Lazy<RouteHandler>> match) {
         try {
-            String path = input.getPath();
-            String httpMethod = input.getHttpMethod();
-            
-            // Find matching handler
-            RouteHandler handler = findHandler(httpMethod, path);
-            
-            if (handler != null) {
+            if (match != null) {
+                RouteHandler handler = match.target().get();
+                
                 // Check if authentication is required
                 if (handler.requiresAuthentication()) {
                     String token = HeaderUtils.extractBearerToken(input).orElse(null);
                     
                     if (token == null) {
-                        return createUnauthorizedResponse();
+                        return createResponse(401, unauthorizedBody);
                     }
                     
                     // In a real implementation, you would validate the token here
                 }
                 
+                if (!match.pathParameters().isEmpty()) {
+                    input.setPathParameters(match.pathParameters());
+                }
+                
                 return handler.handleRequest(input, context);
             }
             
             // No handler found
-            return createNotFoundResponse("Resource not found");
+            return createResponse(404, notFoundBody);
         } catch (Exception e) {
-            logger.error("Error processing request", e);
-            return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "An internal server error occurred");
+            errorLog.error("Error processing request", e);
+            return createResponse(500, internalErrorBody);
         }
     }
     
-    private RouteHandler findHandler(String method, String path) {
-        // First try exact match
-        RouteKey exactKey = new RouteKey(method, path);
-        if (handlers.containsKey(exactKey)) {
-            return handlers.get(exactKey);
+    /**
+     * Returns the Lambda request ID of the invocation or, outside Lambda, the API Gateway request ID if any.
+     */
+    private static String requestId(APIGatewayProxyRequestEvent input, Context context) {
+        if (context != null && context.getAwsRequestId() != null) {
+            return context.getAwsRequestId();
         }
-        
-        // Try pattern matching for path parameters
-        for (Map.Entry<RouteKey, RouteHandler> entry : handlers.entrySet()) {
-            RouteKey key = entry.getKey();
-            if (key.getMethod().equals(method) && pathMatches(key.getPath(), path)) {
-                return entry.getValue();
-            }
-        }
-        
-        return null;
-    }
-    
-    private boolean pathMatches(String pattern, String path) {
-        // Convert route pattern with path parameters to regex
-        String regex = pattern.replaceAll("\\{[^/]+\\}", "[^/]+");
-        return Pattern.compile("^" + regex + "$").matcher(path).matches();
-    }
-    
-    private APIGatewayProxyResponseEvent createUnauthorizedResponse() {
-        Error error = new Error("UNAUTHORIZED", "Missing or invalid authentication token");
-        return createResponse(401, error);
+        APIGatewayProxyRequestEvent.ProxyRequestContext requestContext = input.getRequestContext();
+        return requestContext != null ? requestContext.getRequestId() : null;
     }
     
-    private APIGatewayProxyResponseEvent createNotFoundResponse(String message) {
-        Error error = new Error("NOT_FOUND", message);
-        return createResponse(404, error);
-    }
-    
-    private APIGatewayProxyResponseEvent createErrorResponse(int statusCode, String code, String message) {
-        Error error = new Error(code, message);
-        return createResponse(statusCode, error);
-    }
-    
-    private APIGatewayProxyResponseEvent createResponse(int statusCode, Object body) {
+    /**
+     * Creates a response with one of the handler's pre-serialized bodies. The response itself is new, since the
+     * compressor and callers may modify it, but its headers are shared until they do.
+     */
+    private static APIGatewayProxyResponseEvent createResponse(int statusCode, String body) {
         APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
         response.setStatusCode(statusCode);
-        
-        Map<String, String> headers = new HashMap<>();
-        headers.put("Content-Type", "application/json");
-        headers.put("Access-Control-Allow-Origin", "*");
-        response.setHeaders(headers);
-        
-        if (body != null) {
-            try {
-                response.setBody(objectMapper.writeValueAsString(body));
-            } catch (JsonProcessingException e) {
-                logger.error("Error serializing response body", e);
-                response.setBody("{\"code\":\"INTERNAL_SERVER_ERROR\",\"message\":\"Error serializing response\"}");
-            }
-        }
-        
+        response.setHeaders(HeaderUtils.JSON_RESPONSE_HEADERS);
+        response.setBody(body);
         return response;
     }
-    
-    // Helper class for route keys
-    private static class RouteKey {
-        private final String method;
-        private final String path;
-        
-        public RouteKey(String method, String path) {
-            this.method = method;
-            this.path = path;
-        }
-        
-        public String getMethod() {
-            return method;
-        }
-        
-        public String getPath() {
-            return path;
-        }
-        
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            RouteKey routeKey = (RouteKey) o;
-            return method.equals(routeKey.method) && path.equals(routeKey.path);
-        }
-        
-        @Override
-        public int hashCode() {
-            return Objects.hash(method, path);
-        }
-    }
 }
@@ -0,0 +1,143 @@
+package com.example.api;
+
+import com.example.api.service.AsyncItemService;
+import com.example.api.service.Backoff;
+import com.example.api.service.ItemCache;
+import com.example.api.service.ItemService;
+import com.example.api.service.PageTokenCodec;
+import com.example.api.utils.Lazy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-environment application context shared by all route handlers.
+ * <p>
+ * The DynamoDB client, the enhanced client and the {@link ItemService} are created once, on first use,
+ * so an execution environment never pays for more than one connection pool or table schema, and routes
+ * that do not touch DynamoDB (such as {@code /public}) never pay for it at all.
+ */
+public class ApplicationContext {
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationContext.class);
+
+    /**
+     * Requests the DynamoDB client keeps open at once. Each batch request keeps a few chunks in flight, so
+     * this bounds how far many concurrent requests in the standalone server can fan out.
+     */
+    private static final int MAX_CONCURRENT_REQUESTS = 64;
+    private static final Duration CONNECTION_ACQUISITION_TIMEOUT = Duration.ofSeconds(2);
+
+    private final String tableName;
+    private final Lazy<DynamoDbAsyncClient> dynamoDbClient;
+    private final Lazy<DynamoDbEnhancedAsyncClient> enhancedClient;
+    private final Lazy<PageTokenCodec> pageTokens;
+    private final Lazy<ItemService> itemService;
+    private final Map<String, Long> initTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public ApplicationContext() {
+        this(System.getenv("TABLE_NAME"), ApplicationContext::createDynamoDbClient);
+    }
+
+    ApplicationContext(String tableName, Supplier<DynamoDbAsyncClient> dynamoDbClientFactory) {
+        this.tableName = tableName;
+        this.dynamoDbClient = Lazy.of(() -> timed("DynamoDbAsyncClient", dynamoDbClientFactory));
+        this.enhancedClient = Lazy.of(() -> timed("DynamoDbEnhancedAsyncClient", () ->
+                DynamoDbEnhancedAsyncClient.builder()
+                        .dynamoDbClient(dynamoDbClient.get())
+                        .build()));
+        this.pageTokens = Lazy.of(() -> timed("PageTokenCodec", () -> PageTokenCodec.fromEnvironment(tableName)));
+        this.itemService = Lazy.of(() -> timed("ItemService", () -> new ItemService(new AsyncItemService(
+                dynamoDbClient.get(), enhancedClient.get(), tableName, pageTokens.get(), Backoff.DEFAULT,
+                ItemCache.fromEnvironment(), AsyncItemService.maxConcurrentChunksFromEnvironment()))));
+    }
+
+    public DynamoDbAsyncClient dynamoDbClient() {
+        return dynamoDbClient.get();
+    }
+
+    public DynamoDbEnhancedAsyncClient enhancedClient() {
+        return enhancedClient.get();
+    }
+
+    public ItemService itemService() {
+        return itemService.get();
+    }
+
+    /**
+     * Closes the DynamoDB client, if it was created, and discards every component that holds or uses its
+     * connections so that the next access builds them again with fresh ones. Used after a SnapStart restore,
+     * when pooled connections captured in the snapshot are no longer usable. The page token key is kept, so
+     * the secret it was read from is fetched only once.
+     */
+    public void reset() {
+        DynamoDbAsyncClient client = dynamoDbClient.reset();
+        enhancedClient.reset();
+        itemService.reset();
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the time in milliseconds spent creating each component initialized so far, in the order they finished.
+     * Nested components are included in the time of the component that triggered them.
+     */
+    public Map<String, Long> initTimings() {
+        synchronized (initTimings) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(initTimings));
+        }
+    }
+
+    /**
+     * Creates a component and records how long it took.
+     */
+    <T> T timed(String component, Supplier<T> factory) {
+        long start = System.nanoTime();
+        T result = factory.get();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        initTimings.put(component, elapsedMillis);
+        logger.info("Initialized {} in {} ms", component, elapsedMillis);
+        return result;
+    }
+
+    /**
+     * Creates a context backed by a store that answers only the requests {@link Priming} makes.
+     */
+    static ApplicationContext forPriming() {
+        return new ApplicationContext("priming-items", PrimingDynamoDbClient::new);
+    }
+
+    /**
+     * Creates a client on the non-blocking Netty transport, which multiplexes all in-flight requests over a
+     * small event loop instead of holding a thread per request. {@code DYNAMODB_ENDPOINT}, when set, points the
+     * client at a local stand-in such as DynamoDB Local.
+     */
+    private static DynamoDbAsyncClient createDynamoDbClient() {
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.US_EAST_1)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(MAX_CONCURRENT_REQUESTS)
+                        .connectionAcquisitionTimeout(CONNECTION_ACQUISITION_TIMEOUT)
+                        .tcpKeepAlive(true));
+        String endpoint = System.getenv("DYNAMODB_ENDPOINT");
+        if (endpoint != null && !endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint.trim()));
+        }
+        return builder.build();
+    }
+}
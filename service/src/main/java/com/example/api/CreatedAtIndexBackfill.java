@@ -0,0 +1,41 @@
+package com.example.api;
+
+import com.example.api.service.AsyncItemService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One-off migration that writes the {@code gsi1} keys of items written before the keys were introduced, so that
+ * they appear in ordered listings.
+ * <p>
+ * Runs against the table named by {@code TABLE_NAME}, with the same environment as the function. The table is
+ * scanned in parallel segments, four unless a different number is given as the only argument. Items that
+ * already have the keys are skipped, so the migration can be rerun and can run while the API is serving.
+ */
+public final class CreatedAtIndexBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(CreatedAtIndexBackfill.class);
+    private static final int DEFAULT_SEGMENTS = 4;
+
+    private CreatedAtIndexBackfill() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void main(String[] args) {
+        int totalSegments = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SEGMENTS;
+        ApplicationContext context = new ApplicationContext();
+        AsyncItemService items = context.itemService().async();
+
+        List<CompletableFuture<Long>> segments = new ArrayList<>(totalSegments);
+        for (int segment = 0; segment < totalSegments; segment++) {
+            segments.add(items.backfillCreatedAtIndex(segment, totalSegments));
+        }
+        long indexed = segments.stream().mapToLong(CompletableFuture::join).sum();
+
+        logger.info("Backfilled created-at index keys of {} items in table {}", indexed, context.tableName());
+        context.reset();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.api;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.model.NewItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a fixed set of synthetic requests covering every route, so that the classes and caches on the
+ * request path are initialized before a SnapStart checkpoint.
+ */
+final class Priming {
+    private static final Logger logger = LoggerFactory.getLogger(Priming.class);
+    private static final Map<String, String> AUTH_HEADERS = Map.of("Authorization", "Bearer priming-token");
+
+    private Priming() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Replays the synthetic requests against the given handler, which should be backed by the store of
+     * {@link ApplicationContext#forPriming()}.
+     *
+     * @return the requests that completed, with their status codes, in replay order
+     */
+    static List<PrimedRequest> run(ApiHandler handler) {
+        List<PrimedRequest> replayed = new ArrayList<>();
+        String body = "{\"name\":\"priming\",\"description\":\"Synthetic item created while priming\"}";
+
+        replay(handler, replayed, "GET", "/public", null, null, false);
+        replay(handler, replayed, "GET", "/protected", null, null, true);
+        replay(handler, replayed, "GET", "/protected", null, null, false);
+        replay(handler, replayed, "GET", "/nonexistent", null, null, true);
+        replay(handler, replayed, "POST", "/items", null, body, true);
+        replay(handler, replayed, "GET", "/items", Map.of("limit", "10"), null, true);
+        replay(handler, replayed, "GET", "/items", Map.of("limit", "10", "order", "newest"), null, true);
+
+        // Exercise the item routes against an item with a known id
+        String itemId = handler.context().itemService()
+                .createItem(new NewItem("priming", "Synthetic item created while priming"))
+                .id();
+        replay(handler, replayed, "GET", "/items/" + itemId, null, null, true);
+        replay(handler, replayed, "POST", "/items/batch-get", null,
+                "{\"ids\":[\"" + itemId + "\",\"priming-missing\"]}", true);
+        replay(handler, replayed, "PUT", "/items/" + itemId, null, body, true);
+        replay(handler, replayed, "DELETE", "/items/" + itemId, null, null, true);
+        replay(handler, replayed, "GET", "/items/" + itemId, null, null, true);
+        replay(handler, replayed, "POST", "/items/batch", null, "{\"items\":[" + body + "]}", true);
+        replay(handler, replayed, "POST", "/items/batch-delete", null, "{\"ids\":[\"" + itemId + "\"]}", true);
+        return replayed;
+    }
+
+    private static void replay(ApiHandler handler, List<PrimedRequest> replayed, String method, String path,
+                               Map<String, String> query, String body, boolean authenticated) {
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod(method)
+                .withPath(path)
+                .withQueryStringParameters(query)
+                .withBody(body)
+                .withHeaders(authenticated ? AUTH_HEADERS : Map.of());
+
+        try {
+            APIGatewayProxyResponseEvent response = handler.handleRequest(request, null);
+            if (response.getStatusCode() >= 500) {
+                logger.warn("Priming request {} {} returned {}", method, path, response.getStatusCode());
+            }
+            replayed.add(new PrimedRequest(method, path, authenticated, response.getStatusCode()));
+        } catch (RuntimeException e) {
+            // Priming is best effort; a failing request must never prevent the snapshot from being taken
+            logger.warn("Priming request {} {} failed", method, path, e);
+        }
+    }
+
+    /**
+     * A replayed request and the status code it returned.
+     */
+    record PrimedRequest(String method, String path, boolean authenticated, int statusCode) {
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.api;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.BatchGetItemPublisher;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryPublisher;
+import software.amazon.awssdk.services.dynamodb.paginators.ScanPublisher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stand-in for DynamoDB that answers exactly the requests {@link Priming} makes, so that the request path can
+ * be exercised before a SnapStart checkpoint without any network call.
+ * <p>
+ * Items of a single table are kept by their {@code id}. Updates and deletes fail their condition when the item
+ * does not exist, as the service's conditions would; otherwise expressions are not evaluated: updates return
+ * the stored item unchanged, scans return every item and queries return the items whose {@code gsi1pk} is one
+ * of the expression values. Any other operation fails with {@link UnsupportedOperationException}, which
+ * priming reports as a failed request.
+ */
+final class PrimingDynamoDbClient implements DynamoDbAsyncClient {
+    private final Map<String, Map<String, AttributeValue>> items = new ConcurrentHashMap<>();
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        items.clear();
+    }
+
+    @Override
+    public CompletableFuture<PutItemResponse> putItem(PutItemRequest request) {
+        items.put(idOf(request.item()), request.item());
+        return CompletableFuture.completedFuture(PutItemResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<GetItemResponse> getItem(GetItemRequest request) {
+        return CompletableFuture.completedFuture(GetItemResponse.builder()
+                .item(items.get(idOf(request.key())))
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<UpdateItemResponse> updateItem(UpdateItemRequest request) {
+        Map<String, AttributeValue> item = items.get(idOf(request.key()));
+        if (item == null) {
+            return conditionFailed();
+        }
+        return CompletableFuture.completedFuture(UpdateItemResponse.builder().attributes(item).build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteItemResponse> deleteItem(DeleteItemRequest request) {
+        Map<String, AttributeValue> item = items.remove(idOf(request.key()));
+        if (item == null) {
+            return conditionFailed();
+        }
+        return CompletableFuture.completedFuture(DeleteItemResponse.builder().attributes(item).build());
+    }
+
+    @Override
+    public CompletableFuture<BatchGetItemResponse> batchGetItem(BatchGetItemRequest request) {
+        Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+        for (Map.Entry<String, KeysAndAttributes> table : request.requestItems().entrySet()) {
+            List<Map<String, AttributeValue>> found = new ArrayList<>();
+            for (Map<String, AttributeValue> key : table.getValue().keys()) {
+                Map<String, AttributeValue> item = items.get(idOf(key));
+                if (item != null) {
+                    found.add(item);
+                }
+            }
+            responses.put(table.getKey(), found);
+        }
+        return CompletableFuture.completedFuture(BatchGetItemResponse.builder().responses(responses).build());
+    }
+
+    @Override
+    public BatchGetItemPublisher batchGetItemPaginator(BatchGetItemRequest request) {
+        return new BatchGetItemPublisher(this, request);
+    }
+
+    @Override
+    public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+        for (List<WriteRequest> writes : request.requestItems().values()) {
+            for (WriteRequest write : writes) {
+                if (write.putRequest() != null) {
+                    items.put(idOf(write.putRequest().item()), write.putRequest().item());
+                } else {
+                    items.remove(idOf(write.deleteRequest().key()));
+                }
+            }
+        }
+        return CompletableFuture.completedFuture(BatchWriteItemResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<ScanResponse> scan(ScanRequest request) {
+        List<Map<String, AttributeValue>> page = new ArrayList<>(items.values());
+        return CompletableFuture.completedFuture(ScanResponse.builder().items(page).count(page.size()).build());
+    }
+
+    @Override
+    public ScanPublisher scanPaginator(ScanRequest request) {
+        return new ScanPublisher(this, request);
+    }
+
+    @Override
+    public CompletableFuture<QueryResponse> query(QueryRequest request) {
+        List<Map<String, AttributeValue>> page = items.values().stream()
+                .filter(item -> request.expressionAttributeValues().containsValue(item.get("gsi1pk")))
+                .toList();
+        return CompletableFuture.completedFuture(QueryResponse.builder().items(page).count(page.size()).build());
+    }
+
+    @Override
+    public QueryPublisher queryPaginator(QueryRequest request) {
+        return new QueryPublisher(this, request);
+    }
+
+    private static String idOf(Map<String, AttributeValue> key) {
+        return key.get("id").s();
+    }
+
+    private static <T> CompletableFuture<T> conditionFailed() {
+        return CompletableFuture.failedFuture(ConditionalCheckFailedException.builder()
+                .message("The conditional request failed")
+                .build());
+    }
+}
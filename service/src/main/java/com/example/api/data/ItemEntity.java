@@ -1,20 +1,125 @@
 package com.example.api.data;
 
-import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
-import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 
 /**
  * DynamoDB entity for items.
+ * <p>
+ * Besides its own attributes, each item carries the keys of the {@code gsi1} index, which lists items in
+ * creation order. Items are spread over {@link #CREATED_AT_SHARDS} index partitions by a hash of their ID and
+ * sorted by creation time within each, so listing in creation order queries every shard and merges the
+ * results. A single index partition serves at most about 1,000 write units and 3,000 read units a second, and
+ * throttled index writes throttle the table writes that feed them; sharding multiplies both ceilings by the
+ * number of shards, at the cost of reading up to a page from each shard per listed page.
  */
-@DynamoDbBean
 public class ItemEntity {
+    
+    /**
+     * Name of the index that orders items by creation time.
+     */
+    public static final String CREATED_AT_INDEX = "gsi1";
+    
+    /**
+     * Number of {@code gsi1} partitions items are spread over. It may be raised but never lowered, since items
+     * keep the partition they were written to.
+     */
+    public static final int CREATED_AT_SHARDS = 4;
+    
+    /**
+     * The {@code gsi1pk} value of the first shard. Items written before the index was sharded all carry it.
+     */
+    public static final String ITEM_PARTITION = "ITEM";
+    
+    /**
+     * Fixed-width UTC format, so that the lexical order of {@code gsi1sk} values is their chronological order.
+     */
+    private static final DateTimeFormatter SORT_KEY_FORMATTER =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSSSSSSS'Z'");
+    
+    /**
+     * Table schema for items, declared explicitly rather than introspected with {@code TableSchema.fromBean}.
+     * Bean schemas generate their accessors with {@code LambdaMetafactory} at runtime, which costs cold-start
+     * time on the JVM and is not supported at all in a GraalVM native image.
+     */
+    public static final TableSchema<ItemEntity> TABLE_SCHEMA = StaticTableSchema.builder(ItemEntity.class)
+            .newItemSupplier(ItemEntity::new)
+            .addAttribute(String.class, a -> a.name("id")
+                    .getter(ItemEntity::getId)
+                    .setter(ItemEntity::setId)
+                    .tags(StaticAttributeTags.primaryPartitionKey()))
+            .addAttribute(String.class, a -> a.name("name")
+                    .getter(ItemEntity::getName)
+                    .setter(ItemEntity::setName))
+            .addAttribute(String.class, a -> a.name("description")
+                    .getter(ItemEntity::getDescription)
+                    .setter(ItemEntity::setDescription))
+            .addAttribute(String.class, a -> a.name("createdAt")
+                    .getter(ItemEntity::getCreatedAt)
+                    .setter(ItemEntity::setCreatedAt))
+            .addAttribute(String.class, a -> a.name("updatedAt")
+                    .getter(ItemEntity::getUpdatedAt)
+                    .setter(ItemEntity::setUpdatedAt))
+            .addAttribute(String.class, a -> a.name("gsi1pk")
+                    .getter(ItemEntity::getGsi1pk)
+                    .setter(ItemEntity::setGsi1pk)
+                    .tags(StaticAttributeTags.secondaryPartitionKey(CREATED_AT_INDEX)))
+            .addAttribute(String.class, a -> a.name("gsi1sk")
+                    .getter(ItemEntity::getGsi1sk)
+                    .setter(ItemEntity::setGsi1sk)
+                    .tags(StaticAttributeTags.secondarySortKey(CREATED_AT_INDEX)))
+            .build();
+    
     private String id;
     private String name;
     private String description;
     private String createdAt;
     private String updatedAt;
+    private String gsi1pk;
+    private String gsi1sk;
+    
+    /**
+     * Returns the {@code gsi1sk} prefix for a creation time: every item created at or after that instant
+     * sorts at or after the prefix, and every item created before it sorts before it.
+     */
+    public static String createdAtSortKey(OffsetDateTime createdAt) {
+        return createdAt.atZoneSameInstant(ZoneOffset.UTC).format(SORT_KEY_FORMATTER);
+    }
+    
+    /**
+     * Returns the {@code gsi1pk} value of a shard, from 0 to {@link #CREATED_AT_SHARDS} - 1.
+     */
+    public static String createdAtPartition(int shard) {
+        return shard == 0 ? ITEM_PARTITION : ITEM_PARTITION + "#" + shard;
+    }
+    
+    /**
+     * Returns the {@code gsi1pk} value for an item ID.
+     */
+    public static String createdAtPartition(String id) {
+        return createdAtPartition(Math.floorMod(id.hashCode(), CREATED_AT_SHARDS));
+    }
+    
+    /**
+     * Returns the {@code gsi1sk} value for an item's creation time and ID.
+     */
+    public static String createdAtSortKey(OffsetDateTime createdAt, String id) {
+        return createdAtSortKey(createdAt) + "#" + id;
+    }
+    
+    /**
+     * Populates the {@code gsi1} keys from the item's id and creation time.
+     */
+    public void indexByCreatedAt(OffsetDateTime createdAt) {
+        this.gsi1pk = createdAtPartition(id);
+        this.gsi1sk = createdAtSortKey(createdAt, id);
+    }
     
-    @DynamoDbPartitionKey
     public String getId() {
         return id;
     }
@@ -54,4 +159,20 @@ public class ItemEntity {
     public void setUpdatedAt(String updatedAt) {
         this.updatedAt = updatedAt;
     }
+    
+    public String getGsi1pk() {
+        return gsi1pk;
+    }
+    
+    public void setGsi1pk(String gsi1pk) {
+        this.gsi1pk = gsi1pk;
+    }
+    
+    public String getGsi1sk() {
+        return gsi1sk;
+    }
+    
+    public void setGsi1sk(String gsi1sk) {
+        this.gsi1sk = gsi1sk;
+    }
 }
@@ -1,23 +1,39 @@
 package com.example.api.handlers;
 
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
-import com.example.api.model.Error;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.api.utils.ETags;
+import com.example.api.utils.ErrorBodies;
+import com.example.api.utils.ErrorLog;
+import com.example.api.utils.HeaderUtils;
+import com.example.api.utils.JsonCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Base class for all API handlers.
  */
 public abstract class BaseHandler implements RouteHandler {
     protected static final Logger logger = LoggerFactory.getLogger(BaseHandler.class);
-    protected final ObjectMapper objectMapper;
+    /**
+     * Logs handler errors, counting repeats rather than logging each one.
+     */
+    protected static final ErrorLog errorLog = ErrorLog.shared();
+    protected final JsonCodec json;
     
     protected BaseHandler() {
-        this.objectMapper = new ObjectMapper();
+        this.json = JsonCodec.shared();
     }
     
     /**
@@ -28,23 +44,65 @@ public abstract class BaseHandler implements RouteHandler {
         return true;
     }
     
+    /**
+     * Returns the value of a path parameter extracted by the router, or null if it is not present.
+     */
+    protected String getPathParameter(APIGatewayProxyRequestEvent input, String name) {
+        Map<String, String> pathParameters = input.getPathParameters();
+        return pathParameters != null ? pathParameters.get(name) : null;
+    }
+    
+    /**
+     * Returns the item properties selected by the comma-separated {@code fields} query parameter, sorted by
+     * name, or null if the parameter is absent.
+     *
+     * @throws IllegalArgumentException if the parameter selects nothing or names a property items do not have
+     */
+    protected Set<String> getItemFields(APIGatewayProxyRequestEvent input) {
+        Map<String, String> queryParams = input.getQueryStringParameters();
+        String value = queryParams != null ? queryParams.get("fields") : null;
+        if (value == null) {
+            return null;
+        }
+        Set<String> fields = new TreeSet<>();
+        for (String field : value.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!json.itemProperties().contains(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'");
+            }
+            fields.add(name);
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one property");
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+    
     /**
      * Creates a successful response with the given status code and body.
      */
     protected APIGatewayProxyResponseEvent createSuccessResponse(int statusCode, Object body) {
+        return createSuccessResponse(statusCode, body, null);
+    }
+    
+    /**
+     * Creates a successful response whose body is serialized with the given writer, or with the codec's writer
+     * for the body's type when the writer is null.
+     */
+    protected <T> APIGatewayProxyResponseEvent createSuccessResponse(int statusCode, T body,
+                                                                     JsonCodec.Writer<? super T> writer) {
         APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
         response.setStatusCode(statusCode);
-        
-        Map<String, String> headers = new HashMap<>();
-        headers.put("Content-Type", "application/json");
-        headers.put("Access-Control-Allow-Origin", "*");
-        response.setHeaders(headers);
+        response.setHeaders(HeaderUtils.JSON_RESPONSE_HEADERS);
         
         if (body != null) {
             try {
-                response.setBody(objectMapper.writeValueAsString(body));
+                response.setBody(writer != null ? json.write(body, writer) : json.write(body));
             } catch (Exception e) {
-                logger.error("Error serializing response body", e);
+                errorLog.error("Error serializing response body", e);
                 return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error serializing response");
             }
         }
@@ -53,11 +111,80 @@ public abstract class BaseHandler implements RouteHandler {
     }
     
     /**
-     * Creates an error response with the given status code, error code, and message.
+     * Returns whether the request's validators match the current representation, so that a 304 can be sent
+     * instead of it. {@code If-None-Match} takes precedence; {@code If-Modified-Since} is only consulted
+     * without it, and only when the representation has a modification time.
+     *
+     * @param lastModified the representation's modification time, or null if it has none
+     */
+    protected boolean isNotModified(APIGatewayProxyRequestEvent input, String etag, OffsetDateTime lastModified) {
+        Map<String, String> headers = input.getHeaders();
+        String ifNoneMatch = HeaderUtils.getHeader(headers, "If-None-Match");
+        if (ifNoneMatch != null) {
+            return ETags.matches(ifNoneMatch, etag);
+        }
+        String ifModifiedSince = HeaderUtils.getHeader(headers, "If-Modified-Since");
+        if (ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        try {
+            ZonedDateTime since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME);
+            // HTTP dates have whole seconds, so a time within the same second is not newer
+            return !lastModified.toInstant().truncatedTo(ChronoUnit.SECONDS).isAfter(since.toInstant());
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Returns whether the request carries {@code If-None-Match} or {@code If-Modified-Since}.
+     */
+    protected boolean isConditional(APIGatewayProxyRequestEvent input) {
+        Map<String, String> headers = input.getHeaders();
+        return HeaderUtils.getHeader(headers, "If-None-Match") != null
+                || HeaderUtils.getHeader(headers, "If-Modified-Since") != null;
+    }
+    
+    /**
+     * Creates a 304 response without a body, carrying the validators of the current representation, with the
+     * {@code ETag} in the form the client sent it, compressed or not.
+     */
+    protected APIGatewayProxyResponseEvent createNotModifiedResponse(APIGatewayProxyRequestEvent input, String etag,
+                                                                     OffsetDateTime lastModified) {
+        APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
+        response.setStatusCode(304);
+        response.setHeaders(HeaderUtils.EMPTY_RESPONSE_HEADERS);
+        String matched = ETags.asMatched(HeaderUtils.getHeader(input.getHeaders(), "If-None-Match"), etag);
+        return withValidators(response, matched, lastModified);
+    }
+    
+    /**
+     * Adds {@code ETag} and, if the modification time is not null, {@code Last-Modified} headers to a response.
+     */
+    protected APIGatewayProxyResponseEvent withValidators(APIGatewayProxyResponseEvent response, String etag,
+                                                          OffsetDateTime lastModified) {
+        Map<String, String> headers = HeaderUtils.mutableHeaders(response);
+        headers.put("ETag", etag);
+        String exposed = "ETag";
+        if (lastModified != null) {
+            headers.put("Last-Modified",
+                    DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.atZoneSameInstant(ZoneOffset.UTC)));
+            exposed += ", Last-Modified";
+        }
+        headers.merge("Access-Control-Expose-Headers", exposed, (existing, added) -> existing + ", " + added);
+        return response;
+    }
+    
+    /**
+     * Creates an error response with the given status code, error code, and message. The body is serialized
+     * once per distinct error and reused.
      */
     protected APIGatewayProxyResponseEvent createErrorResponse(int statusCode, String code, String message) {
-        Error error = new Error(code, message);
-        return createSuccessResponse(statusCode, error);
+        APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
+        response.setStatusCode(statusCode);
+        response.setHeaders(HeaderUtils.JSON_RESPONSE_HEADERS);
+        response.setBody(ErrorBodies.shared().body(code, message));
+        return response;
     }
     
     /**
@@ -0,0 +1,59 @@
+package com.example.api.handlers;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.model.BatchCreateRequest;
+import com.example.api.model.NewItem;
+import com.example.api.service.ItemService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handler for the POST /items/batch endpoint.
+ * <p>
+ * Creates up to {@value #MAX_ITEMS} items in one request and returns a result for each, in request order.
+ */
+public class BatchCreateItemsHandler extends BaseHandler {
+    static final int MAX_ITEMS = 500;
+    
+    private final ItemService itemService;
+    
+    public BatchCreateItemsHandler(ItemService itemService) {
+        this.itemService = itemService;
+    }
+    
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            if (input.getBody() == null) {
+                return createBadRequestResponse("Request body is required");
+            }
+            BatchCreateRequest request = json.read(input.getBody(), BatchCreateRequest.class);
+            List<NewItem> items = request.items();
+            
+            if (items == null || items.isEmpty()) {
+                return createBadRequestResponse("items is required");
+            }
+            if (items.size() > MAX_ITEMS) {
+                return createBadRequestResponse("At most " + MAX_ITEMS + " items can be created at once");
+            }
+            for (int i = 0; i < items.size(); i++) {
+                NewItem item = items.get(i);
+                if (item == null || item.name() == null || item.name().trim().isEmpty()) {
+                    return createBadRequestResponse("Name is required (items[" + i + "])");
+                }
+            }
+            
+            return createSuccessResponse(200, Map.of("results", itemService.batchCreateItems(items)));
+        } catch (JsonProcessingException e) {
+            errorLog.clientError("Error parsing request body", e);
+            return createBadRequestResponse("Invalid request body");
+        } catch (Exception e) {
+            errorLog.error("Error creating items", e);
+            return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error creating items");
+        }
+    }
+}
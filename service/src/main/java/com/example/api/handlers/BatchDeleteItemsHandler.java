@@ -0,0 +1,56 @@
+package com.example.api.handlers;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.model.BatchDeleteRequest;
+import com.example.api.service.ItemService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handler for the POST /items/batch-delete endpoint.
+ * <p>
+ * Deletes up to {@value #MAX_IDS} items in one request and returns a result for each distinct ID, in request
+ * order.
+ */
+public class BatchDeleteItemsHandler extends BaseHandler {
+    static final int MAX_IDS = 500;
+    
+    private final ItemService itemService;
+    
+    public BatchDeleteItemsHandler(ItemService itemService) {
+        this.itemService = itemService;
+    }
+    
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            if (input.getBody() == null) {
+                return createBadRequestResponse("Request body is required");
+            }
+            BatchDeleteRequest request = json.read(input.getBody(), json.batchDeleteRequestReader());
+            List<String> ids = request.ids();
+            
+            if (ids == null || ids.isEmpty()) {
+                return createBadRequestResponse("ids is required");
+            }
+            if (ids.size() > MAX_IDS) {
+                return createBadRequestResponse("At most " + MAX_IDS + " ids can be deleted at once");
+            }
+            if (ids.stream().anyMatch(id -> id == null || id.trim().isEmpty())) {
+                return createBadRequestResponse("ids must not be blank");
+            }
+            
+            return createSuccessResponse(200, Map.of("results", itemService.batchDeleteItems(ids)));
+        } catch (JsonProcessingException e) {
+            errorLog.clientError("Error parsing request body", e);
+            return createBadRequestResponse("Invalid request body");
+        } catch (Exception e) {
+            errorLog.error("Error deleting items", e);
+            return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error deleting items");
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.api.handlers;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.model.BatchGetRequest;
+import com.example.api.service.ItemService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.util.List;
+
+/**
+ * Handler for the POST /items/batch-get endpoint.
+ * <p>
+ * Fetches up to {@value #MAX_IDS} items in one request and reports the found items, the missing IDs and any
+ * IDs DynamoDB did not process separately.
+ */
+public class BatchGetItemsHandler extends BaseHandler {
+    static final int MAX_IDS = 500;
+    
+    private final ItemService itemService;
+    
+    public BatchGetItemsHandler(ItemService itemService) {
+        this.itemService = itemService;
+    }
+    
+    @Override
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
+        try {
+            if (input.getBody() == null) {
+                return createBadRequestResponse("Request body is required");
+            }
+            BatchGetRequest request = json.read(input.getBody(), json.batchGetRequestReader());
+            List<String> ids = request.ids();
+            
+            if (ids == null || ids.isEmpty()) {
+                return createBadRequestResponse("ids is required");
+            }
+            if (ids.size() > MAX_IDS) {
+                return createBadRequestResponse("At most " + MAX_IDS + " ids can be requested at once");
+            }
+            if (ids.stream().anyMatch(id -> id == null || id.trim().isEmpty())) {
+                return createBadRequestResponse("ids must not be blank");
+            }
+            
+            return createSuccessResponse(200, itemService.batchGetItems(ids));
+        } catch (JsonProcessingException e) {
+            errorLog.clientError("Error parsing request body", e);
+            return createBadRequestResponse("Invalid request body");
+        } catch (Exception e) {
+            errorLog.error("Error getting items", e);
+            return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error getting items");
+        }
+    }
+}
@@ -3,42 +3,42 @@ package com.example.api.handlers;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.model.Item;
 import com.example.api.service.ItemService;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+
+import java.util.Map;
 
 /**
  * Handler for the DELETE /items/{itemId} endpoint.
+ * <p>
+ * Responds with 204, or with 404 when the item does not exist. With {@code returnDeleted=true} the removed
+ * item is returned in a 200 response instead.
  */
 public class DeleteItemHandler extends BaseHandler {
     
     private final ItemService itemService;
     
-    public DeleteItemHandler() {
-        DynamoDbClient dynamoDbClient = DynamoDbClient.builder()
-                .region(Region.US_EAST_1)
-                .build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(dynamoDbClient)
-                .build();
-        this.itemService = new ItemService(enhancedClient, System.getenv("TABLE_NAME"));
+    public DeleteItemHandler(ItemService itemService) {
+        this.itemService = itemService;
     }
     
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
         try {
-            String itemId = extractItemId(input.getPath());
-            itemService.deleteItem(itemId);
+            String itemId = getPathParameter(input, "itemId");
+            Item deleted = itemService.deleteItem(itemId);
+            if (deleted == null) {
+                return createNotFoundResponse("Item not found");
+            }
+            
+            Map<String, String> queryParams = input.getQueryStringParameters();
+            if (queryParams != null && "true".equalsIgnoreCase(queryParams.get("returnDeleted"))) {
+                return createSuccessResponse(200, deleted);
+            }
             return createSuccessResponse(204, null);
         } catch (Exception e) {
-            logger.error("Error deleting item", e);
+            errorLog.error("Error deleting item", e);
             return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error deleting item");
         }
     }
-    
-    private String extractItemId(String path) {
-        String[] parts = path.split("/");
-        return parts[parts.length - 1];
-    }
 }
@@ -5,46 +5,66 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.example.api.model.Item;
 import com.example.api.service.ItemService;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import com.example.api.service.ItemVersion;
+import com.example.api.utils.ETags;
+
+import java.util.Set;
 
 /**
  * Handler for the GET /items/{itemId} endpoint.
+ * <p>
+ * Responses carry an {@code ETag} and {@code Last-Modified} derived from the item's update time. A conditional
+ * request is first checked against a read of just the item's ID and update time, and answered with a 304
+ * without reading or serializing the whole item when it still matches.
+ * <p>
+ * The {@code fields} query parameter selects a subset of the item's properties, which are the only ones read
+ * from the table and written to the response.
  */
 public class GetItemHandler extends BaseHandler {
     
     private final ItemService itemService;
     
-    public GetItemHandler() {
-        DynamoDbClient dynamoDbClient = DynamoDbClient.builder()
-                .region(Region.US_EAST_1)
-                .build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(dynamoDbClient)
-                .build();
-        this.itemService = new ItemService(enhancedClient, System.getenv("TABLE_NAME"));
+    public GetItemHandler(ItemService itemService) {
+        this.itemService = itemService;
     }
     
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
         try {
-            String itemId = extractItemId(input.getPath());
-            Item item = itemService.getItem(itemId);
+            String itemId = getPathParameter(input, "itemId");
+            Set<String> fields;
+            try {
+                fields = getItemFields(input);
+            } catch (IllegalArgumentException e) {
+                return createBadRequestResponse(e.getMessage());
+            }
+            String variant = fields != null ? String.join(",", fields) : null;
+            
+            if (isConditional(input)) {
+                ItemVersion version = itemService.getItemVersion(itemId);
+                if (version == null) {
+                    return createNotFoundResponse("Item not found");
+                }
+                String etag = ETags.forItem(version.id(), version.updatedAt(), variant);
+                if (isNotModified(input, etag, version.updatedAt())) {
+                    return createNotModifiedResponse(input, etag, version.updatedAt());
+                }
+            }
+            
+            Item item = itemService.getItem(itemId, fields);
             
             if (item == null) {
                 return createNotFoundResponse("Item not found");
             }
             
-            return createSuccessResponse(200, item);
+            APIGatewayProxyResponseEvent response = createSuccessResponse(200, item, json.itemWriter(fields));
+            if (response.getStatusCode() == 200) {
+                withValidators(response, ETags.forItem(item.id(), item.updatedAt(), variant), item.updatedAt());
+            }
+            return response;
         } catch (Exception e) {
-            logger.error("Error getting item", e);
+            errorLog.error("Error getting item", e);
             return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error getting item");
         }
     }
-    
-    private String extractItemId(String path) {
-        String[] parts = path.split("/");
-        return parts[parts.length - 1];
-    }
 }
@@ -27,7 +27,7 @@ public class GetProtectedDataHandler extends BaseHandler {
             
             return createSuccessResponse(200, response);
         } catch (Exception e) {
-            logger.error("Error getting protected data", e);
+            errorLog.error("Error getting protected data", e);
             return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error retrieving protected data");
         }
     }
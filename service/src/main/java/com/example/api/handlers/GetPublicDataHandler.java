@@ -27,7 +27,7 @@ public class GetPublicDataHandler extends BaseHandler {
             
             return createSuccessResponse(200, response);
         } catch (Exception e) {
-            logger.error("Error getting public data", e);
+            errorLog.error("Error getting public data", e);
             return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error retrieving public data");
         }
     }
@@ -3,28 +3,43 @@ package com.example.api.handlers;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.service.InvalidPageTokenException;
+import com.example.api.service.ItemPage;
 import com.example.api.service.ItemService;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import com.example.api.utils.ETags;
+import com.example.api.utils.HeaderUtils;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Handler for the GET /items endpoint.
+ * <p>
+ * Returns one page of items. When more items remain, the token for the next page is returned in the
+ * {@code X-Next-Token} header and is passed back as the {@code nextToken} query parameter.
+ * <p>
+ * Without further parameters the page comes from an unordered table scan. Passing {@code order}
+ * ({@code newest} or {@code oldest}), {@code createdFrom} or {@code createdTo} lists items in creation order
+ * from the {@code gsi1} index instead; the range bounds are inclusive ISO-8601 date-times or dates.
+ * <p>
+ * Each page carries an {@code ETag} hashed from the IDs and update times of its items and its next token, and
+ * a matching {@code If-None-Match} is answered with a 304 before the page is serialized. Pages have no
+ * {@code Last-Modified}, because removing an item changes a page without making anything on it newer.
+ * <p>
+ * The {@code fields} query parameter selects a subset of each item's properties, which are the only ones read
+ * from the table and written to the response.
  */
 public class ListItemsHandler extends BaseHandler {
+    static final String NEXT_TOKEN_HEADER = "X-Next-Token";
     
     private final ItemService itemService;
     
-    public ListItemsHandler() {
-        DynamoDbClient dynamoDbClient = DynamoDbClient.builder()
-                .region(Region.US_EAST_1)
-                .build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(dynamoDbClient)
-                .build();
-        this.itemService = new ItemService(enhancedClient, System.getenv("TABLE_NAME"));
+    public ListItemsHandler(ItemService itemService) {
+        this.itemService = itemService;
     }
     
     @Override
@@ -32,6 +47,7 @@ public class ListItemsHandler extends BaseHandler {
         try {
             Map<String, String> queryParams = input.getQueryStringParameters();
             int limit = 20; // Default limit
+            String nextToken = queryParams != null ? queryParams.get("nextToken") : null;
             
             if (queryParams != null && queryParams.containsKey("limit")) {
                 try {
@@ -44,10 +60,81 @@ public class ListItemsHandler extends BaseHandler {
                 }
             }
             
-            return createSuccessResponse(200, itemService.listItems(limit));
+            Set<String> fields;
+            try {
+                fields = getItemFields(input);
+            } catch (IllegalArgumentException e) {
+                return createBadRequestResponse(e.getMessage());
+            }
+            
+            ItemPage page;
+            String order = queryParams != null ? queryParams.get("order") : null;
+            String createdFrom = queryParams != null ? queryParams.get("createdFrom") : null;
+            String createdTo = queryParams != null ? queryParams.get("createdTo") : null;
+            if (order == null && createdFrom == null && createdTo == null) {
+                page = itemService.listItems(limit, nextToken, fields);
+            } else {
+                boolean newestFirst;
+                if (order == null || "oldest".equalsIgnoreCase(order)) {
+                    newestFirst = false;
+                } else if ("newest".equalsIgnoreCase(order)) {
+                    newestFirst = true;
+                } else {
+                    return createBadRequestResponse("order must be 'newest' or 'oldest'");
+                }
+                
+                OffsetDateTime from;
+                OffsetDateTime to;
+                try {
+                    from = parseBound(createdFrom, false);
+                    to = parseBound(createdTo, true);
+                } catch (DateTimeParseException e) {
+                    return createBadRequestResponse("createdFrom and createdTo must be ISO-8601 dates or date-times");
+                }
+                if (from != null && to != null && from.isAfter(to)) {
+                    return createBadRequestResponse("createdFrom must not be after createdTo");
+                }
+                
+                page = itemService.listItemsByCreatedAt(limit, newestFirst, from, to, nextToken, fields);
+            }
+            
+            String variant = fields != null ? String.join(",", fields) : null;
+            String etag = ETags.forPage(page.items(), page.nextToken(), variant);
+            if (isNotModified(input, etag, null)) {
+                return createNotModifiedResponse(input, etag, null);
+            }
+            
+            APIGatewayProxyResponseEvent response = createSuccessResponse(200, page.items(), json.itemListWriter(fields));
+            if (response.getStatusCode() != 200) {
+                return response;
+            }
+            if (page.nextToken() != null) {
+                Map<String, String> headers = HeaderUtils.mutableHeaders(response);
+                headers.put(NEXT_TOKEN_HEADER, page.nextToken());
+                headers.put("Access-Control-Expose-Headers", NEXT_TOKEN_HEADER);
+            }
+            return withValidators(response, etag, null);
+        } catch (InvalidPageTokenException e) {
+            return createBadRequestResponse("Invalid nextToken");
         } catch (Exception e) {
-            logger.error("Error listing items", e);
+            errorLog.error("Error listing items", e);
             return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error listing items");
         }
     }
+    
+    /**
+     * Parses a range bound. A date without a time covers that whole day in UTC.
+     */
+    private static OffsetDateTime parseBound(String value, boolean upper) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        if (value.length() == 10) {
+            LocalDate date = LocalDate.parse(value);
+            return upper
+                    ? date.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1)
+                    : date.atStartOfDay().atOffset(ZoneOffset.UTC);
+        }
+        return OffsetDateTime.parse(value);
+    }
 }
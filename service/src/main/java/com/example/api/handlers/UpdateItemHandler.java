@@ -6,32 +6,25 @@ import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent
 import com.example.api.model.Item;
 import com.example.api.service.ItemService;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 
 /**
  * Handler for the PUT /items/{itemId} endpoint.
+ * <p>
+ * Responds with 404 when the item does not exist; the stored creation time is never taken from the body.
  */
 public class UpdateItemHandler extends BaseHandler {
     
     private final ItemService itemService;
     
-    public UpdateItemHandler() {
-        DynamoDbClient dynamoDbClient = DynamoDbClient.builder()
-                .region(Region.US_EAST_1)
-                .build();
-        DynamoDbEnhancedClient enhancedClient = DynamoDbEnhancedClient.builder()
-                .dynamoDbClient(dynamoDbClient)
-                .build();
-        this.itemService = new ItemService(enhancedClient, System.getenv("TABLE_NAME"));
+    public UpdateItemHandler(ItemService itemService) {
+        this.itemService = itemService;
     }
     
     @Override
     public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent input, Context context) {
         try {
-            String itemId = extractItemId(input.getPath());
-            Item updatedItem = objectMapper.readValue(input.getBody(), Item.class);
+            String itemId = getPathParameter(input, "itemId");
+            Item updatedItem = json.read(input.getBody(), json.itemUpdateReader());
             
             if (updatedItem.name() == null || updatedItem.name().trim().isEmpty()) {
                 return createBadRequestResponse("Name is required");
@@ -57,16 +50,11 @@ public class UpdateItemHandler extends BaseHandler {
             
             return createSuccessResponse(200, item);
         } catch (JsonProcessingException e) {
-            logger.error("Error parsing request body", e);
+            errorLog.clientError("Error parsing request body", e);
             return createBadRequestResponse("Invalid request body");
         } catch (Exception e) {
-            logger.error("Error updating item", e);
+            errorLog.error("Error updating item", e);
             return createErrorResponse(500, "INTERNAL_SERVER_ERROR", "Error updating item");
         }
     }
-    
-    private String extractItemId(String path) {
-        String[] parts = path.split("/");
-        return parts[parts.length - 1];
-    }
 }
@@ -0,0 +1,29 @@
+package com.example.api.model;
+
+import java.util.List;
+
+/**
+ * Represents a request to create several items at once.
+ */
+public class BatchCreateRequest {
+    private List<NewItem> items;
+    
+    public BatchCreateRequest() {
+    }
+    
+    public BatchCreateRequest(List<NewItem> items) {
+        this.items = items;
+    }
+    
+    public List<NewItem> items() {
+        return items;
+    }
+    
+    public List<NewItem> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<NewItem> items) {
+        this.items = items;
+    }
+}
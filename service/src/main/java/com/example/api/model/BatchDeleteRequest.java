@@ -0,0 +1,31 @@
+package com.example.api.model;
+
+import com.example.model.BatchDeleteRequestJson;
+
+import java.util.List;
+
+/**
+ * Represents a request to delete several items by ID.
+ */
+public class BatchDeleteRequest implements BatchDeleteRequestJson.View {
+    private List<String> ids;
+    
+    public BatchDeleteRequest() {
+    }
+    
+    public BatchDeleteRequest(List<String> ids) {
+        this.ids = ids;
+    }
+    
+    public List<String> ids() {
+        return ids;
+    }
+    
+    public List<String> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
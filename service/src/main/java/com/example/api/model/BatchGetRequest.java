@@ -0,0 +1,31 @@
+package com.example.api.model;
+
+import com.example.model.BatchGetRequestJson;
+
+import java.util.List;
+
+/**
+ * Represents a request to fetch several items by ID.
+ */
+public class BatchGetRequest implements BatchGetRequestJson.View {
+    private List<String> ids;
+    
+    public BatchGetRequest() {
+    }
+    
+    public BatchGetRequest(List<String> ids) {
+        this.ids = ids;
+    }
+    
+    public List<String> ids() {
+        return ids;
+    }
+    
+    public List<String> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
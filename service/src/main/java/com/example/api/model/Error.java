@@ -1,9 +1,11 @@
 package com.example.api.model;
 
+import com.example.model.ErrorJson;
+
 /**
  * Represents an API error response.
  */
-public class Error {
+public class Error implements ErrorJson.View {
     private String code;
     private String message;
     
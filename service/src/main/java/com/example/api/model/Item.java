@@ -1,11 +1,13 @@
 package com.example.api.model;
 
+import com.example.model.ItemJson;
+
 import java.time.OffsetDateTime;
 
 /**
  * Represents an item in the system.
  */
-public class Item {
+public class Item implements ItemJson.View {
     private String id;
     private String name;
     private String description;
@@ -1,9 +1,11 @@
 package com.example.api.model;
 
+import com.example.model.NewItemJson;
+
 /**
  * Represents a new item to be created.
  */
-public class NewItem {
+public class NewItem implements NewItemJson.View {
     private String name;
     private String description;
     
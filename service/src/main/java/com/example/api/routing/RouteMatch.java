@@ -0,0 +1,14 @@
+package com.example.api.routing;
+
+import java.util.Map;
+
+/**
+ * Result of resolving a request against a {@link Router}.
+ *
+ * @param target the target registered for the route
+ * @param template the path template of the matched route, e.g. {@code /items/{itemId}}
+ * @param pathParameters the values of the template's path parameters, keyed by parameter name
+ * @param <T> the type of the route target
+ */
+public record RouteMatch<T>(T target, String template, Map<String, String> pathParameters) {
+}
@@ -0,0 +1,174 @@
+package com.example.api.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Segment-trie router that resolves an HTTP method and path to a route target.
+ * <p>
+ * Path templates such as {@code /items/{itemId}} are compiled into the trie once, at registration time.
+ * Templates without parameters are also indexed by their full path. Otherwise matching walks the request path
+ * a segment at a time without splitting it or using regular expressions; literal segments take precedence
+ * over parameter segments, falling back to the parameter branch only when the literal branch does not lead
+ * to a route.
+ *
+ * @param <T> the type of the route target
+ */
+public final class Router<T> {
+
+    private final Node<T> root = new Node<>();
+    private final Map<String, Node<T>> staticRoutes = new HashMap<>();
+    private int maxDepth;
+
+    /**
+     * Registers a route.
+     *
+     * @param method the HTTP method, e.g. {@code GET}
+     * @param template the path template, e.g. {@code /items/{itemId}}
+     * @param target the target to return when the route matches
+     * @throws IllegalArgumentException if the template is malformed or the route is already registered
+     */
+    public void add(String method, String template, T target) {
+        if (template == null || !template.startsWith("/")) {
+            throw new IllegalArgumentException("Path template must start with '/': " + template);
+        }
+
+        Node<T> node = root;
+        List<String> parameterNames = new ArrayList<>();
+        int depth = 0;
+        int start = 1;
+        while (start <= template.length()) {
+            int end = template.indexOf('/', start);
+            if (end < 0) {
+                end = template.length();
+            }
+            String segment = template.substring(start, end);
+            if (segment.isEmpty()) {
+                if (end == template.length() && depth == 0) {
+                    break; // The root path "/"
+                }
+                throw new IllegalArgumentException("Empty segment in path template: " + template);
+            }
+
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Unnamed path parameter in template: " + template);
+                }
+                if (node.parameter == null) {
+                    node.parameter = new Node<>();
+                    node.parameterName = name;
+                } else if (!node.parameterName.equals(name)) {
+                    throw new IllegalArgumentException("Conflicting path parameter names '" + node.parameterName
+                            + "' and '" + name + "' in template: " + template);
+                }
+                node = node.parameter;
+                parameterNames.add(name);
+            } else {
+                node = node.literals.computeIfAbsent(segment, s -> new Node<>());
+                parameterNames.add(null);
+            }
+            depth++;
+            start = end + 1;
+        }
+
+        if (node.targets.putIfAbsent(method, new Route<>(target, template)) != null) {
+            throw new IllegalArgumentException("Route already registered: " + method + " " + template);
+        }
+        if (parameterNames.stream().allMatch(Objects::isNull)) {
+            staticRoutes.put(template, node);
+        } else {
+            node.parameterNames = parameterNames.toArray(new String[0]);
+        }
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    /**
+     * Resolves a request to a route.
+     *
+     * @param method the HTTP method of the request
+     * @param path the request path
+     * @return the match, or null if no route matches the method and path
+     */
+    public RouteMatch<T> match(String method, String path) {
+        if (method == null || path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+
+        // Templates without parameters resolve with a single hash lookup
+        Node<T> staticNode = staticRoutes.get(path);
+        if (staticNode != null) {
+            Route<T> route = staticNode.targets.get(method);
+            if (route != null) {
+                return new RouteMatch<>(route.target, route.template, Collections.emptyMap());
+            }
+        }
+
+        String[] values = new String[maxDepth];
+        Node<T> node = find(root, method, path, 1, 0, values);
+        if (node == null) {
+            return null;
+        }
+        Route<T> route = node.targets.get(method);
+        return new RouteMatch<>(route.target, route.template, toParameters(node.parameterNames, values));
+    }
+
+    private Node<T> find(Node<T> node, String method, String path, int start, int depth, String[] values) {
+        if (start > path.length() || (start == path.length() && depth == 0)) {
+            return node.targets.containsKey(method) ? node : null;
+        }
+
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        if (end == start) {
+            return null; // Empty segments never match, mirroring "[^/]+"
+        }
+
+        Node<T> literal = node.literals.isEmpty() ? null : node.literals.get(path.substring(start, end));
+        if (literal != null) {
+            Node<T> found = find(literal, method, path, end + 1, depth + 1, values);
+            if (found != null) {
+                return found;
+            }
+        }
+
+        if (node.parameter != null) {
+            Node<T> found = find(node.parameter, method, path, end + 1, depth + 1, values);
+            if (found != null) {
+                values[depth] = path.substring(start, end);
+                return found;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> toParameters(String[] names, String[] values) {
+        if (names.length == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> parameters = new HashMap<>(4);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) {
+                parameters.put(names[i], values[i]);
+            }
+        }
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private final Map<String, Route<T>> targets = new HashMap<>(4);
+        private Node<T> parameter;
+        private String parameterName;
+        private String[] parameterNames = new String[0];
+    }
+
+    private record Route<T>(T target, String template) {
+    }
+}
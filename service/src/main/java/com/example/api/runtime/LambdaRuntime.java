@@ -0,0 +1,177 @@
+package com.example.api.runtime;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.ApiHandler;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.function.Supplier;
+
+/**
+ * Minimal client for the Lambda Runtime API that drives {@link ApiHandler} directly.
+ * <p>
+ * Each iteration long-polls {@code /invocation/next}, decodes the raw event bytes with {@link ProxyEventCodec},
+ * invokes the handler and posts the encoded response back. This replaces the generic runtime interface client
+ * for the custom runtime and native image, and lets the in-JVM {@link RuntimeApiEmulator} measure the whole
+ * per-invocation path without reflection-based event mapping.
+ */
+public class LambdaRuntime {
+    private static final Logger logger = LoggerFactory.getLogger(LambdaRuntime.class);
+    private static final String API_VERSION = "/2018-06-01/runtime";
+    private static final String TRACE_ID_PROPERTY = "com.amazonaws.xray.traceHeader";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final String baseUrl;
+    private final Supplier<ApiHandler> handlerFactory;
+    private final ResponseBuffer responseBuffer = new ResponseBuffer();
+    private volatile boolean running = true;
+
+    /**
+     * @param runtimeApi    the {@code host:port} of the Runtime API, as given by {@code AWS_LAMBDA_RUNTIME_API}
+     * @param handlerFactory creates the handler; failures are reported to the Runtime API as init errors
+     */
+    public LambdaRuntime(String runtimeApi, Supplier<ApiHandler> handlerFactory) {
+        this.baseUrl = "http://" + runtimeApi + API_VERSION;
+        this.handlerFactory = handlerFactory;
+    }
+
+    public static void main(String[] args) {
+        String runtimeApi = System.getenv("AWS_LAMBDA_RUNTIME_API");
+        if (runtimeApi == null || runtimeApi.isBlank()) {
+            throw new IllegalStateException("AWS_LAMBDA_RUNTIME_API is not set");
+        }
+        new LambdaRuntime(runtimeApi, ApiHandler::new).run();
+    }
+
+    /**
+     * Initializes the handler and processes invocations until {@link #stop()} is called or the Runtime API
+     * becomes unreachable, then flushes what the handler has not yet logged.
+     */
+    public void run() {
+        ApiHandler handler;
+        try {
+            handler = handlerFactory.get();
+        } catch (RuntimeException e) {
+            logger.error("Handler initialization failed", e);
+            postQuietly(baseUrl + "/init/error", errorPayload(e), "Runtime.InitError");
+            return;
+        }
+
+        try {
+            while (running) {
+                try {
+                    processNext(handler);
+                } catch (IOException e) {
+                    if (running) {
+                        logger.error("Runtime API request failed, stopping", e);
+                    }
+                    return;
+                }
+            }
+        } finally {
+            handler.flush();
+        }
+    }
+
+    /**
+     * Stops the loop once the current long-poll returns.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    private void processNext(ApiHandler handler) throws IOException {
+        HttpURLConnection next = (HttpURLConnection) new URL(baseUrl + "/invocation/next").openConnection();
+        next.setReadTimeout(0);
+        byte[] event;
+        try (InputStream in = next.getInputStream()) {
+            event = in.readAllBytes();
+        }
+
+        String requestId = next.getHeaderField("Lambda-Runtime-Aws-Request-Id");
+        if (requestId == null) {
+            throw new IOException("Runtime API returned no request id (status " + next.getResponseCode() + ")");
+        }
+        String traceId = next.getHeaderField("Lambda-Runtime-Trace-Id");
+        if (traceId != null) {
+            System.setProperty(TRACE_ID_PROPERTY, traceId);
+        } else {
+            System.clearProperty(TRACE_ID_PROPERTY);
+        }
+        String deadline = next.getHeaderField("Lambda-Runtime-Deadline-Ms");
+        RuntimeContext context = new RuntimeContext(requestId,
+                deadline != null ? Long.parseLong(deadline) : Long.MAX_VALUE,
+                next.getHeaderField("Lambda-Runtime-Invoked-Function-Arn"));
+
+        String invocationUrl = baseUrl + "/invocation/" + requestId;
+        // Invocations are processed one at a time, so one buffer serves them all
+        responseBuffer.recycle();
+        try {
+            APIGatewayProxyRequestEvent request = ProxyEventCodec.decodeRequest(event);
+            APIGatewayProxyResponseEvent result = handler.handleRequest(request, context);
+            ProxyEventCodec.encodeResponse(result, responseBuffer);
+        } catch (Exception e) {
+            logger.error("Invocation {} failed", requestId, e);
+            post(invocationUrl + "/error", errorPayload(e), "Runtime.UnhandledException");
+            return;
+        }
+        post(invocationUrl + "/response", responseBuffer.array(), responseBuffer.size(), null);
+    }
+
+    private static void post(String url, byte[] body, String errorType) throws IOException {
+        post(url, body, body.length, errorType);
+    }
+
+    private static void post(String url, byte[] body, int length, String errorType) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(length);
+        connection.setRequestProperty("Content-Type", "application/json");
+        if (errorType != null) {
+            connection.setRequestProperty("Lambda-Runtime-Function-Error-Type", errorType);
+        }
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body, 0, length);
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            if (in != null) {
+                in.readAllBytes();
+            }
+        }
+        if (status >= 400) {
+            logger.warn("Runtime API rejected {} with status {}", url, status);
+        }
+    }
+
+    private static void postQuietly(String url, byte[] body, String errorType) {
+        try {
+            post(url, body, errorType);
+        } catch (IOException e) {
+            logger.error("Failed to report error to {}", url, e);
+        }
+    }
+
+    private static byte[] errorPayload(Throwable error) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("errorMessage", String.valueOf(error.getMessage()));
+            generator.writeStringField("errorType", error.getClass().getName());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode error payload", e);
+        }
+        return out.toByteArray();
+    }
+}
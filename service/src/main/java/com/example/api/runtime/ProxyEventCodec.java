@@ -0,0 +1,163 @@
+package com.example.api.runtime;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming codec between raw Lambda event bytes and the proxy event classes.
+ * <p>
+ * Decodes both the API Gateway REST (payload format 1.0) and the Function URL / HTTP API (payload format 2.0)
+ * request shapes into an {@link APIGatewayProxyRequestEvent}, reading only the fields the service uses and
+ * skipping everything else without building a tree. Responses are written in the shape both formats accept.
+ */
+public final class ProxyEventCodec {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ProxyEventCodec() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Decodes a proxy request event.
+     *
+     * @throws IOException if the payload is not a JSON object
+     */
+    public static APIGatewayProxyRequestEvent decodeRequest(byte[] payload) throws IOException {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        String rawPath = null;
+        String requestContextMethod = null;
+
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "version" -> event.setVersion(parser.getValueAsString());
+                    case "resource" -> event.setResource(parser.getValueAsString());
+                    case "path" -> event.setPath(parser.getValueAsString());
+                    case "rawPath" -> rawPath = parser.getValueAsString();
+                    case "httpMethod" -> event.setHttpMethod(parser.getValueAsString());
+                    case "headers" -> event.setHeaders(readStringMap(parser, value));
+                    case "queryStringParameters" -> event.setQueryStringParameters(readStringMap(parser, value));
+                    case "pathParameters" -> event.setPathParameters(readStringMap(parser, value));
+                    case "stageVariables" -> event.setStageVariables(readStringMap(parser, value));
+                    case "body" -> event.setBody(parser.getValueAsString());
+                    case "isBase64Encoded" -> event.setIsBase64Encoded(value == JsonToken.VALUE_TRUE);
+                    case "requestContext" -> requestContextMethod = readRequestContext(parser, value, event);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (event.getPath() == null) {
+            event.setPath(rawPath);
+        }
+        if (event.getHttpMethod() == null) {
+            event.setHttpMethod(requestContextMethod);
+        }
+        return event;
+    }
+
+    /**
+     * Encodes a proxy response event.
+     */
+    public static byte[] encodeResponse(APIGatewayProxyResponseEvent response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + (response.getBody() != null ? response.getBody().length() : 0));
+        encodeResponse(response, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes a proxy response event to a stream, such as a buffer reused across invocations.
+     */
+    public static void encodeResponse(APIGatewayProxyResponseEvent response, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            if (response.getStatusCode() != null) {
+                generator.writeNumberField("statusCode", response.getStatusCode());
+            }
+            if (response.getHeaders() != null) {
+                generator.writeObjectFieldStart("headers");
+                for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+                    generator.writeStringField(header.getKey(), header.getValue());
+                }
+                generator.writeEndObject();
+            }
+            if (response.getBody() != null) {
+                generator.writeStringField("body", response.getBody());
+            }
+            generator.writeBooleanField("isBase64Encoded", Boolean.TRUE.equals(response.getIsBase64Encoded()));
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Reads the request id and, for payload format 2.0, the HTTP method from the request context.
+     */
+    private static String readRequestContext(JsonParser parser, JsonToken token, APIGatewayProxyRequestEvent event)
+            throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        APIGatewayProxyRequestEvent.ProxyRequestContext requestContext = new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        String method = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "requestId" -> requestContext.setRequestId(parser.getValueAsString());
+                case "stage" -> requestContext.setStage(parser.getValueAsString());
+                case "httpMethod" -> requestContext.setHttpMethod(parser.getValueAsString());
+                case "http" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String httpField = parser.currentName();
+                            parser.nextToken();
+                            if ("method".equals(httpField)) {
+                                method = parser.getValueAsString();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        event.setRequestContext(requestContext);
+        return method;
+    }
+
+    private static Map<String, String> readStringMap(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Map<String, String> map = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.currentName();
+            parser.nextToken();
+            map.put(key, parser.getValueAsString());
+        }
+        return map;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.api.runtime;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Output buffer for encoded responses that keeps its array between invocations, so a response of a size seen
+ * before is encoded without allocating or copying it again.
+ */
+final class ResponseBuffer extends ByteArrayOutputStream {
+    private static final int INITIAL_BYTES = 8 * 1024;
+    private static final int MAX_RETAINED_BYTES = 1024 * 1024;
+
+    ResponseBuffer() {
+        super(INITIAL_BYTES);
+    }
+
+    /**
+     * Returns the backing array, which holds {@link #size()} bytes of content.
+     */
+    byte[] array() {
+        return buf;
+    }
+
+    /**
+     * Empties the buffer for the next response, giving back an array grown for an unusually large one.
+     */
+    void recycle() {
+        if (buf.length > MAX_RETAINED_BYTES) {
+            buf = new byte[INITIAL_BYTES];
+        }
+        reset();
+    }
+}
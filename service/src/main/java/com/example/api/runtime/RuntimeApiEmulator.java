@@ -0,0 +1,146 @@
+package com.example.api.runtime;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * In-JVM stand-in for the Lambda Runtime API, for local benchmarking and tests of {@link LambdaRuntime} or the
+ * native executable.
+ * <p>
+ * Events passed to {@link #invoke(byte[])} are queued and handed out, one per long-poll, on
+ * {@code /invocation/next}; the future completes when the runtime posts the response or error for that
+ * request id. Initialization errors fail every pending invocation.
+ */
+public class RuntimeApiEmulator implements AutoCloseable {
+    private static final String FUNCTION_ARN = "arn:aws:lambda:us-east-1:000000000000:function:local-emulator";
+
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Map<String, CompletableFuture<InvocationResult>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public RuntimeApiEmulator() {
+        this(30_000);
+    }
+
+    /**
+     * @param timeoutMillis the invocation timeout reported to the runtime through the deadline header
+     */
+    public RuntimeApiEmulator(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Starts listening on an ephemeral loopback port.
+     */
+    public RuntimeApiEmulator start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/2018-06-01/runtime/", this::handle);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "runtime-api-emulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Returns the {@code host:port} to pass as {@code AWS_LAMBDA_RUNTIME_API}.
+     */
+    public String address() {
+        return "127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Queues an event for the runtime.
+     *
+     * @return a future completed with the runtime's response or error payload
+     */
+    public CompletableFuture<InvocationResult> invoke(byte[] event) {
+        String requestId = UUID.randomUUID().toString();
+        CompletableFuture<InvocationResult> result = new CompletableFuture<>();
+        inFlight.put(requestId, result);
+        queue.add(new Pending(requestId, event));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+        inFlight.values().forEach(result -> result.cancel(false));
+        inFlight.clear();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            if (path.endsWith("/invocation/next")) {
+                Pending pending = queue.take();
+                exchange.getResponseHeaders().add("Lambda-Runtime-Aws-Request-Id", pending.requestId());
+                exchange.getResponseHeaders().add("Lambda-Runtime-Deadline-Ms",
+                        Long.toString(System.currentTimeMillis() + timeoutMillis));
+                exchange.getResponseHeaders().add("Lambda-Runtime-Invoked-Function-Arn", FUNCTION_ARN);
+                exchange.getResponseHeaders().add("Lambda-Runtime-Trace-Id",
+                        "Root=1-00000000-000000000000000000000000;Sampled=0");
+                send(exchange, 200, pending.event());
+            } else if (path.endsWith("/init/error")) {
+                String payload = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                inFlight.values().forEach(result ->
+                        result.completeExceptionally(new IllegalStateException("Init error: " + payload)));
+                inFlight.clear();
+                send(exchange, 202, "{}".getBytes(StandardCharsets.UTF_8));
+            } else if (path.endsWith("/response") || path.endsWith("/error")) {
+                String[] segments = path.split("/");
+                String requestId = segments[segments.length - 2];
+                byte[] payload = exchange.getRequestBody().readAllBytes();
+                CompletableFuture<InvocationResult> result = inFlight.remove(requestId);
+                if (result == null) {
+                    send(exchange, 400, "{\"errorMessage\":\"Unknown request id\"}".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                result.complete(new InvocationResult(requestId, payload, path.endsWith("/error")));
+                send(exchange, 202, "{}".getBytes(StandardCharsets.UTF_8));
+            } else {
+                send(exchange, 404, "{}".getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private record Pending(String requestId, byte[] event) {
+    }
+
+    /**
+     * The payload the runtime posted for an invocation.
+     *
+     * @param error true if the runtime reported an invocation error rather than a response
+     */
+    public record InvocationResult(String requestId, byte[] payload, boolean error) {
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.api.server;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.ApiHandler;
+import com.example.api.ApplicationContext;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Standalone HTTP server that serves the API from a long-lived process instead of Lambda.
+ * <p>
+ * Each HTTP request is adapted to an {@link APIGatewayProxyRequestEvent} and dispatched through the same
+ * {@link ApiHandler} route table the Lambda function uses, so handlers behave identically in both modes. The
+ * JDK's built-in server keeps HTTP/1.1 connections alive between requests. Requests run on virtual threads when
+ * the JVM provides them (Java 21 and later) and on a bounded platform thread pool otherwise.
+ */
+public class ApiServer {
+    private static final Logger logger = LoggerFactory.getLogger(ApiServer.class);
+
+    /**
+     * Default limit on the size of a request body.
+     */
+    public static final int DEFAULT_MAX_REQUEST_BYTES = 1024 * 1024;
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_MAX_THREADS = 200;
+    private static final String PAYLOAD_TOO_LARGE =
+            "{\"code\":\"PAYLOAD_TOO_LARGE\",\"message\":\"Request body is too large\"}";
+    private static final String MALFORMED_QUERY =
+            "{\"code\":\"BAD_REQUEST\",\"message\":\"Query string is not correctly encoded\"}";
+
+    private final ApiHandler handler;
+    private final int maxRequestBytes;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * @param port the port to listen on, or 0 for any free port
+     * @param maxRequestBytes larger request bodies are rejected with {@code 413 Payload Too Large}
+     * @param maxThreads the size of the platform thread pool used when virtual threads are not available
+     */
+    public ApiServer(ApiHandler handler, int port, int maxRequestBytes, int maxThreads) throws IOException {
+        this.handler = handler;
+        this.maxRequestBytes = maxRequestBytes;
+        this.executor = createExecutor(maxThreads);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a server configured by {@code PORT} (default 8080), {@code MAX_REQUEST_BYTES} (default 1 MiB) and
+     * {@code MAX_THREADS} (default 200), serving items from the {@code TABLE_NAME} table.
+     */
+    public static void main(String[] args) throws IOException {
+        ApiServer server = new ApiServer(new ApiHandler(new ApplicationContext()), intEnv("PORT", DEFAULT_PORT),
+                intEnv("MAX_REQUEST_BYTES", DEFAULT_MAX_REQUEST_BYTES), intEnv("MAX_THREADS", DEFAULT_MAX_THREADS));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(Duration.ofSeconds(10)), "api-server-stop"));
+        server.start();
+    }
+
+    public ApiServer start() {
+        server.start();
+        logger.info("Listening on port {}", port());
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting connections, waits up to the grace period for requests in progress to complete, then
+     * flushes what the handler has not yet logged.
+     */
+    public void stop(Duration grace) {
+        long deadline = System.nanoTime() + grace.toNanos();
+        server.stop((int) Math.max(0, grace.toSeconds()));
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                logger.warn("Requests still running after {}, interrupting them", grace);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        handler.flush();
+        logger.info("Stopped");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = readBody(exchange);
+            if (body == null) {
+                // Closing the connection spares the server from reading the rest of the body
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("Connection", "close");
+                writeBody(exchange, 413, PAYLOAD_TOO_LARGE.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            APIGatewayProxyRequestEvent event;
+            try {
+                event = toEvent(exchange, body);
+            } catch (IllegalArgumentException e) {
+                // URLDecoder rejects a % not followed by two hex digits
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                writeBody(exchange, 400, MALFORMED_QUERY.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            APIGatewayProxyResponseEvent response = handler.handleRequest(event, null);
+            writeResponse(exchange, response);
+        } catch (IOException e) {
+            logger.debug("Connection closed while handling request", e);
+        } catch (RuntimeException e) {
+            logger.error("Error handling request", e);
+            // Once the headers are sent the status can no longer change; closing the exchange ends the response
+            if (exchange.getResponseCode() == -1) {
+                exchange.sendResponseHeaders(500, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Reads the request body, or returns null if it is larger than the limit.
+     */
+    private byte[] readBody(HttpExchange exchange) throws IOException {
+        String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (contentLength != null) {
+            try {
+                if (Long.parseLong(contentLength) > maxRequestBytes) {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (out.size() + read > maxRequestBytes) {
+                    return null;
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static APIGatewayProxyRequestEvent toEvent(HttpExchange exchange, byte[] body) {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod(exchange.getRequestMethod());
+        event.setPath(exchange.getRequestURI().getPath());
+
+        Map<String, String> headers = new HashMap<>();
+        Map<String, List<String>> multiValueHeaders = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+            headers.put(header.getKey(), header.getValue().get(0));
+            multiValueHeaders.put(header.getKey(), header.getValue());
+        }
+        event.setHeaders(headers);
+        event.setMultiValueHeaders(multiValueHeaders);
+
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            Map<String, String> query = new HashMap<>();
+            Map<String, List<String>> multiValueQuery = new HashMap<>();
+            for (String pair : rawQuery.split("&")) {
+                if (pair.isEmpty()) {
+                    continue;
+                }
+                int equals = pair.indexOf('=');
+                String name = decode(equals < 0 ? pair : pair.substring(0, equals));
+                String value = equals < 0 ? "" : decode(pair.substring(equals + 1));
+                query.putIfAbsent(name, value);
+                multiValueQuery.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+            }
+            event.setQueryStringParameters(query);
+            event.setMultiValueQueryStringParameters(multiValueQuery);
+        }
+
+        if (body.length > 0) {
+            event.setBody(new String(body, StandardCharsets.UTF_8));
+        }
+        event.setIsBase64Encoded(false);
+
+        APIGatewayProxyRequestEvent.RequestIdentity identity = new APIGatewayProxyRequestEvent.RequestIdentity();
+        identity.setSourceIp(exchange.getRemoteAddress().getAddress().getHostAddress());
+        APIGatewayProxyRequestEvent.ProxyRequestContext requestContext =
+                new APIGatewayProxyRequestEvent.ProxyRequestContext();
+        requestContext.setRequestId(UUID.randomUUID().toString());
+        requestContext.setHttpMethod(exchange.getRequestMethod());
+        requestContext.setPath(exchange.getRequestURI().getPath());
+        requestContext.setIdentity(identity);
+        event.setRequestContext(requestContext);
+        return event;
+    }
+
+    private static void writeResponse(HttpExchange exchange, APIGatewayProxyResponseEvent response)
+            throws IOException {
+        Headers responseHeaders = exchange.getResponseHeaders();
+        if (response.getHeaders() != null) {
+            response.getHeaders().forEach(responseHeaders::set);
+        }
+        if (response.getMultiValueHeaders() != null) {
+            response.getMultiValueHeaders().forEach(responseHeaders::put);
+        }
+
+        byte[] body = null;
+        if (response.getBody() != null) {
+            body = Boolean.TRUE.equals(response.getIsBase64Encoded())
+                    ? Base64.getDecoder().decode(response.getBody())
+                    : response.getBody().getBytes(StandardCharsets.UTF_8);
+        }
+        int statusCode = response.getStatusCode() != null ? response.getStatusCode() : 200;
+        writeBody(exchange, statusCode, body);
+    }
+
+    private static void writeBody(HttpExchange exchange, int statusCode, byte[] body) throws IOException {
+        boolean noBody = body == null || body.length == 0 || statusCode == 204 || statusCode == 304
+                || "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(statusCode, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor when the JVM supports it, looked up reflectively so the
+     * service still compiles for Java 17, or else a bounded pool whose callers run rejected requests
+     * themselves, which stops the server accepting connections until a thread frees up.
+     */
+    private static ExecutorService createExecutor(int maxThreads) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            logger.info("Serving requests on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.info("Virtual threads are not available, serving requests on up to {} threads", maxThreads);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxThreads), runnable -> {
+                    Thread thread = new Thread(runnable, "api-server-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(name + " must be a number: " + value, e);
+        }
+    }
+}
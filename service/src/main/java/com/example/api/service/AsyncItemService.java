@@ -0,0 +1,962 @@
+package com.example.api.service;
+
+import com.example.api.data.ItemEntity;
+import com.example.api.model.Item;
+import com.example.api.model.NewItem;
+import com.example.api.utils.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncIndex;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Expression;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Non-blocking service for managing items in the database, built on the enhanced async client.
+ * <p>
+ * Methods return as soon as their DynamoDB requests are sent. The chunks of a batch operation, and the retries
+ * of each chunk, are in flight without holding a thread, so a single vCPU can overlap many round trips; at most
+ * {@code maxConcurrentChunks} chunks of one operation are in flight, the next starting as one completes.
+ * {@link ItemService} wraps this class for blocking callers.
+ */
+public class AsyncItemService {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncItemService.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+    private static final String SCAN_SCOPE = "scan";
+    private static final Set<String> VERSION_ATTRIBUTES = Set.of("id", "updatedAt");
+    private static final Expression ITEM_EXISTS = Expression.builder()
+            .expression("attribute_exists(#id)")
+            .putExpressionName("#id", "id")
+            .build();
+    private static final Expression ITEM_NOT_INDEXED = Expression.builder()
+            .expression("attribute_exists(#id) AND attribute_not_exists(#gsi1pk)")
+            .putExpressionName("#id", "id")
+            .putExpressionName("#gsi1pk", "gsi1pk")
+            .build();
+    private static final int BACKFILL_PAGE_SIZE = 100;
+
+    /**
+     * Sorts after every {@code #id} suffix, so that a range ending at this suffix includes every item created
+     * at the range's end instant.
+     */
+    private static final String SORT_KEY_UPPER_SUFFIX = "#\uffff";
+
+    /**
+     * Maximum number of keys DynamoDB accepts in one {@code BatchGetItem} call.
+     */
+    static final int BATCH_GET_CHUNK_SIZE = 100;
+
+    /**
+     * Maximum number of writes DynamoDB accepts in one {@code BatchWriteItem} call.
+     */
+    static final int BATCH_WRITE_CHUNK_SIZE = 25;
+
+    /**
+     * Number of chunks of one batch operation in flight at a time, unless {@code BATCH_MAX_CONCURRENT_CHUNKS}
+     * is set.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_CHUNKS = 8;
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final DynamoDbEnhancedAsyncClient enhancedClient;
+    private final String tableName;
+    private final DynamoDbAsyncTable<ItemEntity> table;
+    private final DynamoDbAsyncIndex<ItemEntity> createdAtIndex;
+    private final PageTokenCodec pageTokens;
+    private final Backoff backoff;
+    private final ItemCache cache;
+    private final int maxConcurrentChunks;
+    private final SingleFlight<String, Item> itemReads = new SingleFlight<>();
+
+    public AsyncItemService(DynamoDbAsyncClient dynamoDbClient, String tableName) {
+        this(dynamoDbClient, tableName, PageTokenCodec.fromEnvironment(tableName));
+    }
+
+    /**
+     * Creates a service without an item cache that retries batch requests with the default backoff.
+     */
+    public AsyncItemService(DynamoDbAsyncClient dynamoDbClient, String tableName, PageTokenCodec pageTokens) {
+        this(dynamoDbClient, tableName, pageTokens, Backoff.DEFAULT, ItemCache.disabled());
+    }
+
+    /**
+     * @param backoff the delay between retries of unprocessed batch keys and writes
+     * @param cache the cache {@link #getItem(String)} reads through, kept current by this service's writes
+     */
+    public AsyncItemService(DynamoDbAsyncClient dynamoDbClient, String tableName, PageTokenCodec pageTokens,
+                            Backoff backoff, ItemCache cache) {
+        this(dynamoDbClient, tableName, pageTokens, backoff, cache, DEFAULT_MAX_CONCURRENT_CHUNKS);
+    }
+
+    /**
+     * @param maxConcurrentChunks the number of chunks of one batch operation in flight at a time
+     */
+    public AsyncItemService(DynamoDbAsyncClient dynamoDbClient, String tableName, PageTokenCodec pageTokens,
+                            Backoff backoff, ItemCache cache, int maxConcurrentChunks) {
+        this(dynamoDbClient, DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(dynamoDbClient).build(), tableName,
+                pageTokens, backoff, cache, maxConcurrentChunks);
+    }
+
+    /**
+     * @param enhancedClient an enhanced client over {@code dynamoDbClient}, which issues every request but
+     *                       {@link #updateItem(String, Item)}'s
+     */
+    public AsyncItemService(DynamoDbAsyncClient dynamoDbClient, DynamoDbEnhancedAsyncClient enhancedClient,
+                            String tableName, PageTokenCodec pageTokens, Backoff backoff, ItemCache cache,
+                            int maxConcurrentChunks) {
+        if (maxConcurrentChunks < 1) {
+            throw new IllegalArgumentException("maxConcurrentChunks must be positive: " + maxConcurrentChunks);
+        }
+        this.dynamoDbClient = dynamoDbClient;
+        this.enhancedClient = enhancedClient;
+        this.tableName = tableName;
+        this.table = enhancedClient.table(tableName, ItemEntity.TABLE_SCHEMA);
+        this.createdAtIndex = table.index(ItemEntity.CREATED_AT_INDEX);
+        this.pageTokens = pageTokens;
+        this.backoff = backoff;
+        this.cache = cache;
+        this.maxConcurrentChunks = maxConcurrentChunks;
+    }
+
+    /**
+     * Reads the number of chunks of one batch operation in flight at a time from
+     * {@code BATCH_MAX_CONCURRENT_CHUNKS}, defaulting to {@link #DEFAULT_MAX_CONCURRENT_CHUNKS}.
+     *
+     * @throws IllegalStateException if the variable is set but is not a positive number
+     */
+    public static int maxConcurrentChunksFromEnvironment() {
+        String value = System.getenv("BATCH_MAX_CONCURRENT_CHUNKS");
+        if (value == null || value.isBlank()) {
+            return DEFAULT_MAX_CONCURRENT_CHUNKS;
+        }
+        try {
+            int maxConcurrentChunks = Integer.parseInt(value.trim());
+            if (maxConcurrentChunks < 1) {
+                throw new IllegalStateException("BATCH_MAX_CONCURRENT_CHUNKS must be positive: " + value);
+            }
+            return maxConcurrentChunks;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("BATCH_MAX_CONCURRENT_CHUNKS must be a number: " + value, e);
+        }
+    }
+
+    /**
+     * Returns the cache {@link #getItem(String)} reads through.
+     */
+    public ItemCache cache() {
+        return cache;
+    }
+
+    /**
+     * Returns the number of {@link #getItem(String)} calls that shared another call's {@code GetItem} request.
+     */
+    public long coalescedReads() {
+        return itemReads.coalescedCalls();
+    }
+
+    /**
+     * Reads a single page of at most {@code limit} items, issuing exactly one Scan request.
+     *
+     * @param nextToken the token returned with the previous page, or null for the first page
+     * @return the page, or a future failed with {@link InvalidPageTokenException} if the token was not issued
+     *         by this service
+     */
+    public CompletableFuture<ItemPage> listItems(int limit, String nextToken) {
+        return listItems(limit, nextToken, null);
+    }
+
+    /**
+     * Reads a single page like {@link #listItems(int, String)}, reading only the given attributes of each item
+     * plus its {@code id} and {@code updatedAt}; the other properties of the returned items are null.
+     *
+     * @param fields the item attributes to read, or null for all of them
+     */
+    public CompletableFuture<ItemPage> listItems(int limit, String nextToken, Set<String> fields) {
+        logger.info("Listing items with limit: {}", limit);
+
+        ScanEnhancedRequest request;
+        try {
+            request = ScanEnhancedRequest.builder()
+                    .limit(limit)
+                    .exclusiveStartKey(pageTokens.decode(SCAN_SCOPE, nextToken))
+                    .attributesToProject(projection(fields))
+                    .build();
+        } catch (InvalidPageTokenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return firstPage(table.scan(request))
+                .thenApply(page -> new ItemPage(mapToModels(page), pageTokens.encode(SCAN_SCOPE, page.lastEvaluatedKey())));
+    }
+
+    /**
+     * Reads a single page of at most {@code limit} items in creation order from the {@code gsi1} index, so the
+     * cost is proportional to the page size rather than the table size. One Query request is issued to each of
+     * the index's shards that has items left, and their results are merged.
+     *
+     * @param newestFirst true to return the most recently created items first
+     * @param createdFrom if not null, only items created at or after this instant are returned
+     * @param createdTo if not null, only items created at or before this instant are returned
+     * @param nextToken the token returned with the previous page, or null for the first page; it is only
+     *                  accepted with the same order and range it was issued for
+     * @return the page, or a future failed with {@link InvalidPageTokenException} if the token was not issued
+     *         by this service for this order and range
+     */
+    public CompletableFuture<ItemPage> listItemsByCreatedAt(int limit, boolean newestFirst, OffsetDateTime createdFrom,
+                                                            OffsetDateTime createdTo, String nextToken) {
+        return listItemsByCreatedAt(limit, newestFirst, createdFrom, createdTo, nextToken, null);
+    }
+
+    /**
+     * Reads a single page like {@link #listItemsByCreatedAt(int, boolean, OffsetDateTime, OffsetDateTime, String)},
+     * reading only the given attributes of each item plus its {@code id} and {@code updatedAt}.
+     *
+     * @param fields the item attributes to read, or null for all of them
+     */
+    public CompletableFuture<ItemPage> listItemsByCreatedAt(int limit, boolean newestFirst, OffsetDateTime createdFrom,
+                                                            OffsetDateTime createdTo, String nextToken,
+                                                            Set<String> fields) {
+        logger.info("Listing items by creation time with limit: {}, newestFirst: {}, from: {}, to: {}",
+                limit, newestFirst, createdFrom, createdTo);
+
+        String from = createdFrom != null ? ItemEntity.createdAtSortKey(createdFrom) : null;
+        String to = createdTo != null ? ItemEntity.createdAtSortKey(createdTo) + SORT_KEY_UPPER_SUFFIX : null;
+        // The shard count is part of the scope, so tokens do not outlive a change to it
+        String scope = "created:" + ItemEntity.CREATED_AT_SHARDS + ":" + (newestFirst ? "desc" : "asc") + ":"
+                + from + ":" + to;
+
+        Map<String, AttributeValue> position;
+        List<CompletableFuture<ShardPage>> shards = new ArrayList<>(ItemEntity.CREATED_AT_SHARDS);
+        try {
+            position = pageTokens.decode(scope, nextToken);
+            for (int shard = 0; shard < ItemEntity.CREATED_AT_SHARDS; shard++) {
+                shards.add(queryShard(shard, position, limit, newestFirst, from, to, fields));
+            }
+        } catch (InvalidPageTokenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return CompletableFuture.allOf(shards.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> mergeShards(shards.stream().map(CompletableFuture::join).toList(), position,
+                        limit, newestFirst, scope));
+    }
+    /**
+     * Publishes every item in one segment of a parallel scan, reading further pages only as the subscriber
+     * requests them. Subscribing to all {@code totalSegments} segments at once scans the table in parallel.
+     */
+    public SdkPublisher<Item> scanSegment(int segment, int totalSegments) {
+        logger.info("Scanning segment {} of {}", segment, totalSegments);
+
+        return table.scan(ScanEnhancedRequest.builder()
+                        .segment(segment)
+                        .totalSegments(totalSegments)
+                        .build())
+                .items()
+                .map(this::mapToModel);
+    }
+
+    /**
+     * Writes the {@code gsi1} keys of the items in one segment of a parallel scan that were written before the
+     * keys were introduced, so that they appear in ordered listings. Items that already have the keys are left
+     * alone, so the backfill can be rerun or run while the API is serving.
+     *
+     * @return the number of items given index keys
+     */
+    public CompletableFuture<Long> backfillCreatedAtIndex(int segment, int totalSegments) {
+        logger.info("Backfilling created-at index keys in segment {} of {}", segment, totalSegments);
+        return backfillCreatedAtIndex(segment, totalSegments, null, 0);
+    }
+
+    private CompletableFuture<Long> backfillCreatedAtIndex(int segment, int totalSegments,
+                                                           Map<String, AttributeValue> startKey, long indexed) {
+        ScanEnhancedRequest request = ScanEnhancedRequest.builder()
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .limit(BACKFILL_PAGE_SIZE)
+                .exclusiveStartKey(startKey)
+                .attributesToProject("id", "createdAt", "gsi1pk")
+                .build();
+
+        // One page at a time, so that at most a page of updates is in flight
+        return firstPage(table.scan(request)).thenCompose(page -> {
+            List<CompletableFuture<Boolean>> updates = page.items().stream()
+                    .filter(entity -> !isIndexedByCreatedAt(entity))
+                    .map(this::indexByCreatedAt)
+                    .toList();
+            return CompletableFuture.allOf(updates.toArray(new CompletableFuture<?>[0])).thenCompose(ignored -> {
+                long total = indexed + updates.stream().filter(CompletableFuture::join).count();
+                Map<String, AttributeValue> lastKey = page.lastEvaluatedKey();
+                return lastKey == null || lastKey.isEmpty()
+                        ? CompletableFuture.completedFuture(total)
+                        : backfillCreatedAtIndex(segment, totalSegments, lastKey, total);
+            });
+        });
+    }
+
+    /**
+     * Gets an item by ID, from the item cache when it holds the item or knows the ID is missing.
+     * <p>
+     * Concurrent calls for the same ID that miss the cache share a single {@code GetItem} call.
+     *
+     * @return the item, or null if no item with the given ID exists
+     */
+    public CompletableFuture<Item> getItem(String id) {
+        Item cached = cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (cache.isKnownMissing(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return itemReads.load(id, () -> readItem(id));
+    }
+
+    /**
+     * Gets an item by ID, reading only the given attributes plus its {@code id} and {@code updatedAt} with a
+     * {@code Query} on the item's key; the other properties of the returned item are null. A cached item is
+     * returned whole. Projected reads are neither cached nor coalesced, since they hold only part of the item.
+     *
+     * @param fields the item attributes to read, or null for all of them
+     * @return the item, or null if no item with the given ID exists
+     */
+    public CompletableFuture<Item> getItem(String id, Set<String> fields) {
+        if (fields == null) {
+            return getItem(id);
+        }
+        Item cached = cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        if (cache.isKnownMissing(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        logger.info("Getting fields {} of item with ID: {}", fields, id);
+
+        return queryById(id, projection(fields)).thenApply(entity -> entity != null ? mapToModel(entity) : null);
+    }
+
+    /**
+     * Gets the ID and update time of an item, from the item cache when it holds the item or knows the ID is
+     * missing, or otherwise with a {@code Query} on the item's key that projects only those two attributes.
+     *
+     * @return the version, or null if no item with the given ID exists
+     */
+    public CompletableFuture<ItemVersion> getItemVersion(String id) {
+        Item cached = cache.get(id);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(new ItemVersion(cached.id(), cached.updatedAt()));
+        }
+        if (cache.isKnownMissing(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        logger.info("Getting version of item with ID: {}", id);
+
+        return queryById(id, List.copyOf(VERSION_ATTRIBUTES)).thenApply(entity -> entity != null
+                ? new ItemVersion(entity.getId(), OffsetDateTime.parse(entity.getUpdatedAt(), DATE_FORMATTER))
+                : null);
+    }
+
+    /**
+     * Fetches several items by ID with {@code BatchGetItem}, in chunks of up to 100 keys issued concurrently.
+     * Keys DynamoDB leaves unprocessed are retried with backoff.
+     *
+     * @param ids the IDs to fetch; duplicates are fetched once
+     */
+    public CompletableFuture<BatchGetResult> batchGetItems(List<String> ids) {
+        logger.info("Batch getting {} items", ids.size());
+
+        List<String> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return inChunks(distinctIds, BATCH_GET_CHUNK_SIZE, this::batchGetChunk).thenApply(results -> {
+            Map<String, Item> found = new HashMap<>();
+            Set<String> unprocessed = new HashSet<>();
+            for (ChunkResult result : results) {
+                result.items().forEach(entity -> found.put(entity.getId(), mapToModel(entity)));
+                unprocessed.addAll(result.unprocessedIds());
+            }
+
+            List<Item> items = new ArrayList<>(found.size());
+            List<String> missingIds = new ArrayList<>();
+            List<String> unprocessedIds = new ArrayList<>();
+            for (String id : distinctIds) {
+                if (found.containsKey(id)) {
+                    items.add(found.get(id));
+                } else if (unprocessed.contains(id)) {
+                    unprocessedIds.add(id);
+                } else {
+                    missingIds.add(id);
+                }
+            }
+            return new BatchGetResult(items, missingIds, unprocessedIds);
+        });
+    }
+
+    /**
+     * Creates several items with {@code BatchWriteItem}, in chunks of up to 25 puts issued concurrently.
+     * Puts DynamoDB leaves unprocessed are retried with backoff.
+     *
+     * @return one result per new item, in request order
+     */
+    public CompletableFuture<List<ItemWriteResult>> batchCreateItems(List<NewItem> newItems) {
+        logger.info("Batch creating {} items", newItems.size());
+
+        OffsetDateTime now = OffsetDateTime.now();
+        List<ItemEntity> entities = new ArrayList<>(newItems.size());
+        for (NewItem newItem : newItems) {
+            entities.add(newEntity(IdGenerator.newId(), newItem, now));
+        }
+
+        return inChunks(entities, BATCH_WRITE_CHUNK_SIZE, chunk -> batchWriteChunk(chunk, List.of(), 1))
+                .thenApply(chunkResults -> {
+                    Set<String> unprocessed = new HashSet<>();
+                    chunkResults.forEach(unprocessed::addAll);
+
+                    List<ItemWriteResult> results = new ArrayList<>(entities.size());
+                    for (ItemEntity entity : entities) {
+                        if (unprocessed.contains(entity.getId())) {
+                            results.add(new ItemWriteResult(entity.getId(), ItemWriteResult.Status.UNPROCESSED, null));
+                        } else {
+                            Item item = mapToModel(entity);
+                            cache.put(item);
+                            results.add(new ItemWriteResult(entity.getId(), ItemWriteResult.Status.CREATED, item));
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    /**
+     * Deletes several items with {@code BatchWriteItem}, in chunks of up to 25 deletes issued concurrently.
+     * Deletes DynamoDB leaves unprocessed are retried with backoff.
+     * <p>
+     * {@code BatchWriteItem} supports neither conditions nor old images, so an ID that did not exist is
+     * reported as deleted.
+     *
+     * @param ids the IDs to delete; duplicates are deleted once
+     * @return one result per distinct ID, in request order
+     */
+    public CompletableFuture<List<ItemWriteResult>> batchDeleteItems(List<String> ids) {
+        logger.info("Batch deleting {} items", ids.size());
+
+        List<String> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        return inChunks(distinctIds, BATCH_WRITE_CHUNK_SIZE,
+                        chunk -> batchWriteChunk(List.of(), chunk.stream().map(this::getKeyById).toList(), 1))
+                .whenComplete((chunkResults, failure) -> distinctIds.forEach(cache::invalidate))
+                .thenApply(chunkResults -> {
+                    Set<String> unprocessed = new HashSet<>();
+                    chunkResults.forEach(unprocessed::addAll);
+                    return distinctIds.stream()
+                            .map(id -> new ItemWriteResult(id, unprocessed.contains(id)
+                                    ? ItemWriteResult.Status.UNPROCESSED : ItemWriteResult.Status.DELETED, null))
+                            .toList();
+                });
+    }
+
+    public CompletableFuture<Item> createItem(NewItem newItem) {
+        logger.info("Creating new item: {}", newItem.name());
+
+        OffsetDateTime now = OffsetDateTime.now();
+        String id = IdGenerator.newId();
+
+        return table.putItem(newEntity(id, newItem, now)).thenApply(ignored -> {
+            Item item = new Item(
+                id,
+                newItem.name(),
+                newItem.description(),
+                now,
+                now
+            );
+            cache.put(item);
+            return item;
+        });
+    }
+
+    /**
+     * Updates an existing item's name and description in a single conditional {@code UpdateItem} call.
+     * <p>
+     * The name and description are replaced, so a null description removes the stored one. The stored
+     * {@code createdAt} and index keys are kept regardless of the values in {@code item}. An item written
+     * before the {@code gsi1} keys
+     * were introduced is given them by a second, conditional {@code UpdateItem} call, so that it appears in
+     * ordered listings from then on.
+     *
+     * @return the item as stored after the update, or null if no item with the given ID exists
+     */
+    public CompletableFuture<Item> updateItem(String id, Item item) {
+        logger.info("Updating item with ID: {}", id);
+
+        Map<String, AttributeValue> values = new HashMap<>();
+        values.put(":name", AttributeValue.builder().s(item.name()).build());
+        values.put(":updatedAt", AttributeValue.builder().s(OffsetDateTime.now().format(DATE_FORMATTER)).build());
+        String updateExpression;
+        if (item.description() != null) {
+            values.put(":description", AttributeValue.builder().s(item.description()).build());
+            updateExpression = "SET #name = :name, #description = :description, #updatedAt = :updatedAt";
+        } else {
+            updateExpression = "SET #name = :name, #updatedAt = :updatedAt REMOVE #description";
+        }
+
+        // The enhanced client can only SET the attributes it is given, or also REMOVE every null one, which
+        // would drop createdAt and the index keys, so the expression is written here.
+        UpdateItemRequest request = UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(Map.of("id", AttributeValue.builder().s(id).build()))
+                .updateExpression(updateExpression)
+                .conditionExpression(ITEM_EXISTS.expression())
+                .expressionAttributeNames(Map.of("#id", "id", "#name", "name", "#description", "description",
+                        "#updatedAt", "updatedAt"))
+                .expressionAttributeValues(values)
+                .returnValues(ReturnValue.ALL_NEW)
+                .build();
+
+        return dynamoDbClient.updateItem(request)
+                .thenApply(response -> ItemEntity.TABLE_SCHEMA.mapToItem(response.attributes()))
+                .thenCompose(updatedEntity -> isIndexedByCreatedAt(updatedEntity)
+                        ? CompletableFuture.completedFuture(updatedEntity)
+                        : indexByCreatedAt(updatedEntity).thenApply(ignored -> updatedEntity))
+                .handle((updatedEntity, failure) -> {
+                    if (failure == null) {
+                        Item updated = mapToModel(updatedEntity);
+                        cache.put(updated);
+                        return updated;
+                    }
+                    if (isConditionFailure(failure)) {
+                        cache.putMissing(id);
+                        return null;
+                    }
+                    throw asCompletionException(failure);
+                });
+    }
+
+    /**
+     * Deletes an item with a single conditional {@code DeleteItem} call.
+     *
+     * @return the item as it was before deletion, or null if no item with the given ID exists
+     */
+    public CompletableFuture<Item> deleteItem(String id) {
+        logger.info("Deleting item with ID: {}", id);
+
+        DeleteItemEnhancedRequest request = DeleteItemEnhancedRequest.builder()
+                .key(getKeyById(id))
+                .conditionExpression(ITEM_EXISTS)
+                .build();
+
+        return table.deleteItem(request).handle((deletedEntity, failure) -> {
+            if (failure != null && !isConditionFailure(failure)) {
+                cache.invalidate(id);
+                throw asCompletionException(failure);
+            }
+            cache.putMissing(id);
+            return failure == null ? mapToModel(deletedEntity) : null;
+        });
+    }
+
+    private CompletableFuture<Item> readItem(String id) {
+        logger.info("Getting item with ID: {}", id);
+
+        return table.getItem(getKeyById(id)).thenApply(entity -> {
+            if (entity == null) {
+                cache.putMissing(id);
+                return null;
+            }
+            Item item = mapToModel(entity);
+            cache.put(item);
+            return item;
+        });
+    }
+
+    /**
+     * Reads the given attributes of one item with a {@code Query} on its key, and records a missing ID in the
+     * cache. The enhanced client's {@code GetItem} cannot project, and the query reads the same single item.
+     */
+    private CompletableFuture<ItemEntity> queryById(String id, List<String> attributes) {
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(QueryConditional.keyEqualTo(getKeyById(id)))
+                .attributesToProject(attributes)
+                .limit(1)
+                .build();
+        return firstPage(table.query(request)).thenApply(page -> {
+            if (page == null || page.items().isEmpty()) {
+                cache.putMissing(id);
+                return null;
+            }
+            return page.items().get(0);
+        });
+    }
+
+    /**
+     * Returns the attributes to project for the given fields: those fields plus the {@code id} and
+     * {@code updatedAt} that page tokens and entity tags rely on, or null to read every attribute.
+     */
+    private static List<String> projection(Set<String> fields) {
+        if (fields == null) {
+            return null;
+        }
+        Set<String> attributes = new LinkedHashSet<>(VERSION_ATTRIBUTES);
+        attributes.addAll(fields);
+        return List.copyOf(attributes);
+    }
+
+    /**
+     * Returns the attributes to project from the {@code gsi1} index for the given fields: those of
+     * {@link #projection} plus the index keys that merging shards and page tokens rely on.
+     */
+    private static List<String> indexProjection(Set<String> fields) {
+        if (fields == null) {
+            return null;
+        }
+        List<String> attributes = new ArrayList<>(projection(fields));
+        attributes.add("gsi1pk");
+        attributes.add("gsi1sk");
+        return List.copyOf(attributes);
+    }
+
+    private static ItemEntity newEntity(String id, NewItem newItem, OffsetDateTime now) {
+        ItemEntity entity = new ItemEntity();
+        entity.setId(id);
+        entity.setName(newItem.name());
+        entity.setDescription(newItem.description());
+        entity.setCreatedAt(now.format(DATE_FORMATTER));
+        entity.setUpdatedAt(now.format(DATE_FORMATTER));
+        entity.indexByCreatedAt(now);
+        return entity;
+    }
+
+    /**
+     * Splits values into chunks and runs the operation on them, at most {@code maxConcurrentChunks} at a time:
+     * each of that many lanes starts the next unstarted chunk when its previous one completes.
+     *
+     * @return the result of each chunk, in chunk order
+     */
+    private <T, R> CompletableFuture<List<R>> inChunks(List<T> values, int chunkSize,
+                                                       Function<List<T>, CompletableFuture<R>> operation) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += chunkSize) {
+            chunks.add(values.subList(start, Math.min(values.size(), start + chunkSize)));
+        }
+        AtomicReferenceArray<R> results = new AtomicReferenceArray<>(chunks.size());
+        AtomicInteger nextChunk = new AtomicInteger();
+        int laneCount = Math.min(maxConcurrentChunks, chunks.size());
+        List<CompletableFuture<Void>> lanes = new ArrayList<>(laneCount);
+        for (int lane = 0; lane < laneCount; lane++) {
+            lanes.add(runChunks(chunks, operation, nextChunk, results));
+        }
+        return CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<R> ordered = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                ordered.add(results.get(i));
+            }
+            return ordered;
+        });
+    }
+
+    /**
+     * Runs unstarted chunks one after another until none are left.
+     */
+    private static <T, R> CompletableFuture<Void> runChunks(List<List<T>> chunks,
+                                                            Function<List<T>, CompletableFuture<R>> operation,
+                                                            AtomicInteger nextChunk, AtomicReferenceArray<R> results) {
+        int index = nextChunk.getAndIncrement();
+        if (index >= chunks.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return operation.apply(chunks.get(index)).thenCompose(result -> {
+            results.set(index, result);
+            return runChunks(chunks, operation, nextChunk, results);
+        });
+    }
+
+    /**
+     * Issues one {@code BatchWriteItem} call for a chunk, then retries whatever DynamoDB leaves unprocessed.
+     *
+     * @return the IDs of the writes that were still unprocessed after the last attempt
+     */
+    private CompletableFuture<List<String>> batchWriteChunk(List<ItemEntity> puts, List<Key> deletes, int attempt) {
+        WriteBatch.Builder<ItemEntity> batch = WriteBatch.builder(ItemEntity.class).mappedTableResource(table);
+        puts.forEach(batch::addPutItem);
+        deletes.forEach(batch::addDeleteItem);
+        return enhancedClient.batchWriteItem(BatchWriteItemEnhancedRequest.builder()
+                        .writeBatches(batch.build())
+                        .build())
+                .thenCompose(result -> {
+                    List<ItemEntity> unprocessedPuts = result.unprocessedPutItemsForTable(table);
+                    List<Key> unprocessedDeletes = result.unprocessedDeleteItemsForTable(table);
+                    if ((unprocessedPuts.isEmpty() && unprocessedDeletes.isEmpty()) || attempt == backoff.maxAttempts()) {
+                        List<String> unprocessedIds = new ArrayList<>(unprocessedPuts.size() + unprocessedDeletes.size());
+                        unprocessedPuts.forEach(entity -> unprocessedIds.add(entity.getId()));
+                        unprocessedDeletes.forEach(key -> unprocessedIds.add(key.partitionKeyValue().s()));
+                        return CompletableFuture.completedFuture(unprocessedIds);
+                    }
+                    logger.info("Retrying {} unprocessed writes", unprocessedPuts.size() + unprocessedDeletes.size());
+                    return backoff.delay(attempt)
+                            .thenCompose(ignored -> batchWriteChunk(unprocessedPuts, unprocessedDeletes, attempt + 1));
+                });
+    }
+
+    /**
+     * Issues one {@code BatchGetItem} call for a chunk, then retries whatever DynamoDB leaves unprocessed.
+     */
+    private CompletableFuture<ChunkResult> batchGetChunk(List<String> ids) {
+        return batchGetChunk(ids.stream().map(this::getKeyById).toList(), new ArrayList<>(), 1);
+    }
+
+    private CompletableFuture<ChunkResult> batchGetChunk(List<Key> pending, List<ItemEntity> items, int attempt) {
+        ReadBatch.Builder<ItemEntity> batch = ReadBatch.builder(ItemEntity.class).mappedTableResource(table);
+        pending.forEach(batch::addGetItem);
+        return firstPage(enhancedClient.batchGetItem(BatchGetItemEnhancedRequest.builder()
+                        .readBatches(batch.build())
+                        .build()))
+                .thenCompose(page -> {
+                    items.addAll(page.resultsForTable(table));
+                    List<Key> unprocessed = page.unprocessedKeysForTable(table);
+                    if (unprocessed.isEmpty() || attempt == backoff.maxAttempts()) {
+                        List<String> unprocessedIds = unprocessed.stream()
+                                .map(key -> key.partitionKeyValue().s())
+                                .toList();
+                        return CompletableFuture.completedFuture(new ChunkResult(items, unprocessedIds));
+                    }
+                    logger.info("Retrying {} unprocessed keys", unprocessed.size());
+                    return backoff.delay(attempt)
+                            .thenCompose(ignored -> batchGetChunk(unprocessed, items, attempt + 1));
+                });
+    }
+
+    /**
+     * Queries one shard of the {@code gsi1} index from where the token's position left it, or completes with an
+     * exhausted page without a request if the position says the shard has nothing left.
+     */
+    private CompletableFuture<ShardPage> queryShard(int shard, Map<String, AttributeValue> position, int limit,
+                                                    boolean newestFirst, String from, String to, Set<String> fields) {
+        String partition = ItemEntity.createdAtPartition(shard);
+        Map<String, AttributeValue> startKey = null;
+        AttributeValue sortKey = position != null ? position.get(Integer.toString(shard)) : null;
+        if (sortKey != null) {
+            if (sortKey.s().isEmpty()) {
+                return CompletableFuture.completedFuture(new ShardPage(shard, List.of(), false));
+            }
+            AttributeValue id = position.get(shard + ".id");
+            if (id == null) {
+                throw new InvalidPageTokenException("Malformed page token");
+            }
+            startKey = Map.of("id", id,
+                    "gsi1pk", AttributeValue.builder().s(partition).build(),
+                    "gsi1sk", sortKey);
+        }
+
+        QueryEnhancedRequest request = QueryEnhancedRequest.builder()
+                .queryConditional(createdAtCondition(partition, from, to))
+                .scanIndexForward(!newestFirst)
+                .limit(limit)
+                .exclusiveStartKey(startKey)
+                .attributesToProject(indexProjection(fields))
+                .build();
+        return firstPage(createdAtIndex.query(request)).thenApply(page -> {
+            if (page == null) {
+                return new ShardPage(shard, List.of(), false);
+            }
+            Map<String, AttributeValue> lastKey = page.lastEvaluatedKey();
+            return new ShardPage(shard, page.items(), lastKey != null && !lastKey.isEmpty());
+        });
+    }
+
+    /**
+     * Merges the shards' results into one page in creation order, and records in its token where each shard
+     * is to resume.
+     * <p>
+     * An item is only taken if no shard with unread items could still hold one that sorts before it, that is if
+     * it sorts no later than the last item read from every such shard. A shard resumes after the last of its
+     * items that was taken, or where it started if none was; a shard whose items were all read and taken is
+     * marked exhausted and not queried again.
+     */
+    private ItemPage mergeShards(List<ShardPage> shards, Map<String, AttributeValue> position, int limit,
+                                 boolean newestFirst, String scope) {
+        Comparator<ItemEntity> order = Comparator.comparing(ItemEntity::getGsi1sk);
+        if (newestFirst) {
+            order = order.reversed();
+        }
+
+        List<ShardItem> candidates = new ArrayList<>();
+        ItemEntity bound = null;
+        for (ShardPage shard : shards) {
+            shard.items().forEach(entity -> candidates.add(new ShardItem(shard.shard(), entity)));
+            if (shard.hasMore() && !shard.items().isEmpty()) {
+                ItemEntity last = shard.items().get(shard.items().size() - 1);
+                if (bound == null || order.compare(last, bound) < 0) {
+                    bound = last;
+                }
+            }
+        }
+        Comparator<ItemEntity> entityOrder = order;
+        candidates.sort((a, b) -> entityOrder.compare(a.entity(), b.entity()));
+
+        List<Item> items = new ArrayList<>(Math.min(limit, candidates.size()));
+        int[] taken = new int[shards.size()];
+        ItemEntity[] lastTaken = new ItemEntity[shards.size()];
+        for (ShardItem candidate : candidates) {
+            if (items.size() == limit || (bound != null && order.compare(candidate.entity(), bound) > 0)) {
+                break;
+            }
+            items.add(mapToModel(candidate.entity()));
+            taken[candidate.shard()]++;
+            lastTaken[candidate.shard()] = candidate.entity();
+        }
+
+        Map<String, AttributeValue> next = new HashMap<>();
+        boolean exhausted = true;
+        for (ShardPage shard : shards) {
+            String name = Integer.toString(shard.shard());
+            if (!shard.hasMore() && taken[shard.shard()] == shard.items().size()) {
+                next.put(name, AttributeValue.builder().s("").build());
+                continue;
+            }
+            exhausted = false;
+            ItemEntity last = lastTaken[shard.shard()];
+            if (last != null) {
+                next.put(name, AttributeValue.builder().s(last.getGsi1sk()).build());
+                next.put(name + ".id", AttributeValue.builder().s(last.getId()).build());
+            } else if (position != null && position.containsKey(name)) {
+                next.put(name, position.get(name));
+                next.put(name + ".id", position.get(name + ".id"));
+            }
+        }
+        return new ItemPage(items, exhausted ? null : pageTokens.encode(scope, next));
+    }
+
+    private static boolean isIndexedByCreatedAt(ItemEntity entity) {
+        return entity.getGsi1pk() != null || entity.getCreatedAt() == null;
+    }
+
+    /**
+     * Sets the {@code gsi1} keys of a stored item that has none, leaving every other attribute unchanged.
+     *
+     * @return whether the keys were written, false if the item was deleted or already has them
+     */
+    private CompletableFuture<Boolean> indexByCreatedAt(ItemEntity stored) {
+        ItemEntity keys = new ItemEntity();
+        keys.setId(stored.getId());
+        keys.indexByCreatedAt(OffsetDateTime.parse(stored.getCreatedAt(), DATE_FORMATTER));
+
+        UpdateItemEnhancedRequest<ItemEntity> request = UpdateItemEnhancedRequest.builder(ItemEntity.class)
+                .item(keys)
+                .ignoreNulls(true)
+                .conditionExpression(ITEM_NOT_INDEXED)
+                .build();
+
+        return table.updateItem(request).handle((ignored, failure) -> {
+            if (failure == null) {
+                return true;
+            }
+            if (isConditionFailure(failure)) {
+                return false;
+            }
+            throw asCompletionException(failure);
+        });
+    }
+
+    /**
+     * Requests only the first element of a paginated publisher, so that exactly one DynamoDB call is made.
+     */
+    private static <T> CompletableFuture<T> firstPage(SdkPublisher<T> pages) {
+        AtomicReference<T> first = new AtomicReference<>();
+        return pages.limit(1)
+                .subscribe(first::set)
+                .thenApply(ignored -> first.get());
+    }
+
+    private static boolean isConditionFailure(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return cause instanceof ConditionalCheckFailedException;
+    }
+
+    private static CompletionException asCompletionException(Throwable failure) {
+        return failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+    }
+
+    private static QueryConditional createdAtCondition(String partition, String from, String to) {
+        Key.Builder lower = Key.builder().partitionValue(partition);
+        Key.Builder upper = Key.builder().partitionValue(partition);
+        if (from != null && to != null) {
+            return QueryConditional.sortBetween(lower.sortValue(from).build(), upper.sortValue(to).build());
+        } else if (from != null) {
+            return QueryConditional.sortGreaterThanOrEqualTo(lower.sortValue(from).build());
+        } else if (to != null) {
+            return QueryConditional.sortLessThanOrEqualTo(upper.sortValue(to).build());
+        }
+        return QueryConditional.keyEqualTo(lower.build());
+    }
+
+    private Key getKeyById(String id) {
+        return Key.builder().partitionValue(id).build();
+    }
+
+    private List<Item> mapToModels(Page<ItemEntity> page) {
+        return page.items()
+                .stream()
+                .map(this::mapToModel)
+                .toList();
+    }
+
+    /**
+     * Maps an entity to the model; attributes a projection left out stay null.
+     */
+    private Item mapToModel(ItemEntity entity) {
+        return new Item(
+            entity.getId(),
+            entity.getName(),
+            entity.getDescription(),
+            parseDateTime(entity.getCreatedAt()),
+            parseDateTime(entity.getUpdatedAt())
+        );
+    }
+
+    private static OffsetDateTime parseDateTime(String value) {
+        return value != null ? OffsetDateTime.parse(value, DATE_FORMATTER) : null;
+    }
+
+    private record ChunkResult(List<ItemEntity> items, List<String> unprocessedIds) {
+    }
+
+    /**
+     * The items one shard of the {@code gsi1} index returned, and whether it has more.
+     */
+    private record ShardPage(int shard, List<ItemEntity> items, boolean hasMore) {
+    }
+
+    private record ShardItem(int shard, ItemEntity entity) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capped exponential backoff with full jitter, for retrying the unprocessed part of DynamoDB batch requests.
+ * <p>
+ * The delay before retry {@code n} (starting at 1) is drawn uniformly from zero to
+ * {@code min(maxDelayMillis, baseDelayMillis * 2^(n-1))}, which spreads concurrent retries apart instead of
+ * having them hit a throttled partition in lockstep.
+ */
+public record Backoff(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+
+    /**
+     * Eight attempts, starting at up to 25 ms and capped at one second between attempts.
+     */
+    public static final Backoff DEFAULT = new Backoff(8, 25, 1_000);
+
+    public Backoff {
+        if (maxAttempts < 1 || baseDelayMillis < 0 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("Invalid backoff settings");
+        }
+    }
+
+    /**
+     * Returns the delay before the given retry, where retry 1 follows the first attempt.
+     */
+    public long delayMillis(int retry) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retry - 1, 30));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    /**
+     * Returns a future that completes after the delay before the given retry, without holding a thread while
+     * waiting.
+     */
+    public CompletableFuture<Void> delay(int retry) {
+        long delay = delayMillis(retry);
+        if (delay == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS));
+    }
+}
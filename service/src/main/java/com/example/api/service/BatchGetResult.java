@@ -0,0 +1,16 @@
+package com.example.api.service;
+
+import com.example.api.model.Item;
+
+import java.util.List;
+
+/**
+ * The outcome of a batch get, in request order.
+ *
+ * @param items the items that were found
+ * @param missingIds the requested IDs that do not exist
+ * @param unprocessedIds the requested IDs DynamoDB still had not processed after every retry; the client may
+ *                       request them again
+ */
+public record BatchGetResult(List<Item> items, List<String> missingIds, List<String> unprocessedIds) {
+}
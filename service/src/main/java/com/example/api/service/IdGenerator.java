@@ -0,0 +1,45 @@
+package com.example.api.service;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Generates random (version 4) UUIDs for new items.
+ * <p>
+ * Unlike {@link UUID#randomUUID()}, whose random source is fixed for the life of the JVM, the source used here
+ * can be replaced with {@link #reseed()}. SnapStart restores every execution environment from the same
+ * snapshot, so the source must be reseeded after restore or restored environments could generate the same ids.
+ */
+public final class IdGenerator {
+
+    private static volatile SecureRandom random = new SecureRandom();
+
+    private IdGenerator() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Returns a new random UUID string.
+     */
+    public static String newId() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        bytes[6] = (byte) ((bytes[6] & 0x0f) | 0x40); // Version 4
+        bytes[8] = (byte) ((bytes[8] & 0x3f) | 0x80); // IETF variant
+
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        for (int i = 0; i < 8; i++) {
+            mostSignificant = (mostSignificant << 8) | (bytes[i] & 0xff);
+            leastSignificant = (leastSignificant << 8) | (bytes[i + 8] & 0xff);
+        }
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
+    /**
+     * Replaces the random source with a freshly seeded one.
+     */
+    public static void reseed() {
+        random = new SecureRandom();
+    }
+}
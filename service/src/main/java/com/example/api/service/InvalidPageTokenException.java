@@ -0,0 +1,13 @@
+package com.example.api.service;
+
+/**
+ * Thrown when a client supplies a page token that was not issued by this service for the requested listing.
+ * <p>
+ * This is a client error answered with a 400, so no stack trace is captured for it.
+ */
+public class InvalidPageTokenException extends RuntimeException {
+
+    public InvalidPageTokenException(String message) {
+        super(message, null, false, false);
+    }
+}
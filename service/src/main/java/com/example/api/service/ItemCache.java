@@ -0,0 +1,147 @@
+package com.example.api.service;
+
+import com.example.api.model.Item;
+import com.example.api.utils.TtlCache;
+
+import java.time.Duration;
+
+/**
+ * Per-environment cache of items and of IDs known not to exist, read through by
+ * {@link ItemService#getItem(String)} and written through or invalidated by the service's own writes.
+ * <p>
+ * Writes made by other execution environments are not seen until an entry expires, so each TTL is the
+ * maximum staleness a reader can observe. Item IDs are generated by the service and never reused, so an ID
+ * found missing normally stays missing; negative entries are still kept short-lived.
+ */
+public class ItemCache {
+    private static final ItemCache DISABLED = new ItemCache(0, Duration.ZERO, 0, Duration.ZERO);
+
+    private final TtlCache<String, Item> items;
+    private final TtlCache<String, Boolean> missing;
+
+    /**
+     * Creates a cache of items only.
+     */
+    public ItemCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, 0, Duration.ZERO);
+    }
+
+    /**
+     * Either part of the cache is disabled by a zero size or TTL.
+     *
+     * @param maxMissingEntries the number of IDs known not to exist to keep
+     * @param missingTtl how long an ID is reported missing without reading the table again
+     */
+    public ItemCache(int maxEntries, Duration ttl, int maxMissingEntries, Duration missingTtl) {
+        this.items = cacheOf(maxEntries, ttl);
+        this.missing = cacheOf(maxMissingEntries, missingTtl);
+    }
+
+    /**
+     * Returns a cache that holds nothing.
+     */
+    public static ItemCache disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Creates a cache configured by the environment:
+     * <ul>
+     *   <li>{@code ITEM_CACHE_TTL_SECONDS}: item TTL; items are not cached when unset or zero</li>
+     *   <li>{@code ITEM_CACHE_MAX_ENTRIES}: items kept, default 1000</li>
+     *   <li>{@code ITEM_CACHE_MISSING_TTL_SECONDS}: missing-ID TTL, default 10; zero disables it</li>
+     *   <li>{@code ITEM_CACHE_MISSING_MAX_ENTRIES}: missing IDs kept, default 10000</li>
+     * </ul>
+     */
+    public static ItemCache fromEnvironment() {
+        return new ItemCache(
+                (int) longEnv("ITEM_CACHE_MAX_ENTRIES", 1000),
+                Duration.ofSeconds(longEnv("ITEM_CACHE_TTL_SECONDS", 0)),
+                (int) longEnv("ITEM_CACHE_MISSING_MAX_ENTRIES", 10_000),
+                Duration.ofSeconds(longEnv("ITEM_CACHE_MISSING_TTL_SECONDS", 10)));
+    }
+
+    public boolean isEnabled() {
+        return items != null || missing != null;
+    }
+
+    /**
+     * Returns the cached item, or null if it is not cached.
+     */
+    public Item get(String id) {
+        return items != null ? items.get(id) : null;
+    }
+
+    /**
+     * Returns true if the ID was recently found not to exist.
+     */
+    public boolean isKnownMissing(String id) {
+        return missing != null && missing.get(id) != null;
+    }
+
+    /**
+     * Caches an item that was just read or written, and forgets that its ID was missing.
+     */
+    public void put(Item item) {
+        if (missing != null) {
+            missing.invalidate(item.id());
+        }
+        if (items != null) {
+            items.put(item.id(), item);
+        }
+    }
+
+    /**
+     * Records that no item with the ID exists.
+     */
+    public void putMissing(String id) {
+        if (items != null) {
+            items.invalidate(id);
+        }
+        if (missing != null) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets anything cached about the ID.
+     */
+    public void invalidate(String id) {
+        if (items != null) {
+            items.invalidate(id);
+        }
+        if (missing != null) {
+            missing.invalidate(id);
+        }
+    }
+
+    /**
+     * Returns the item cache counters, or null if items are not cached.
+     */
+    public TtlCache.Stats stats() {
+        return items != null ? items.stats() : null;
+    }
+
+    /**
+     * Returns the missing-ID cache counters, or null if missing IDs are not cached.
+     */
+    public TtlCache.Stats missingStats() {
+        return missing != null ? missing.stats() : null;
+    }
+
+    private static <V> TtlCache<String, V> cacheOf(int maxEntries, Duration ttl) {
+        return maxEntries > 0 && !ttl.isNegative() && !ttl.isZero() ? new TtlCache<>(maxEntries, ttl) : null;
+    }
+
+    private static long longEnv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(name + " must be a number: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.api.service;
+
+import com.example.api.model.Item;
+
+import java.util.List;
+
+/**
+ * One page of items and the token for the next page, or null when this is the last page.
+ */
+public record ItemPage(List<Item> items, String nextToken) {
+}
@@ -1,117 +1,190 @@
 package com.example.api.service;
 
-import com.example.api.data.ItemEntity;
 import com.example.api.model.Item;
 import com.example.api.model.NewItem;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
-import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
-import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service for managing items in the database.
+ * <p>
+ * A blocking facade over {@link AsyncItemService}: each method waits for the corresponding asynchronous call
+ * and rethrows its failure unwrapped. Batch operations still overlap their DynamoDB calls, up to the chunk
+ * limit, while the caller waits.
  */
 public class ItemService {
-    private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-    
-    private final DynamoDbTable<ItemEntity> table;
+    private final AsyncItemService async;
 
-    public ItemService(DynamoDbEnhancedClient dynamoDbClient, String tableName) {
-        this.table = dynamoDbClient.table(tableName, TableSchema.fromBean(ItemEntity.class));
+    public ItemService(DynamoDbAsyncClient dynamoDbClient, String tableName) {
+        this(new AsyncItemService(dynamoDbClient, tableName));
     }
 
-    public List<Item> listItems(int limit) {
-        logger.info("Listing items with limit: {}", limit);
-        
-        ScanEnhancedRequest request = ScanEnhancedRequest.builder()
-                .limit(limit)
-                .build();
+    /**
+     * Creates a service without an item cache that retries batch requests with the default backoff.
+     */
+    public ItemService(DynamoDbAsyncClient dynamoDbClient, String tableName, PageTokenCodec pageTokens) {
+        this(new AsyncItemService(dynamoDbClient, tableName, pageTokens));
+    }
+
+    /**
+     * @param backoff the delay between retries of unprocessed batch keys and writes
+     * @param cache the cache {@link #getItem(String)} reads through, kept current by this service's writes
+     */
+    public ItemService(DynamoDbAsyncClient dynamoDbClient, String tableName, PageTokenCodec pageTokens,
+                       Backoff backoff, ItemCache cache) {
+        this(new AsyncItemService(dynamoDbClient, tableName, pageTokens, backoff, cache));
+    }
+
+    /**
+     * @param maxConcurrentChunks the number of chunks of one batch operation in flight at a time
+     */
+    public ItemService(DynamoDbAsyncClient dynamoDbClient, String tableName, PageTokenCodec pageTokens,
+                       Backoff backoff, ItemCache cache, int maxConcurrentChunks) {
+        this(new AsyncItemService(dynamoDbClient, tableName, pageTokens, backoff, cache, maxConcurrentChunks));
+    }
+
+    public ItemService(AsyncItemService async) {
+        this.async = async;
+    }
+
+    /**
+     * Returns the asynchronous service this one waits on.
+     */
+    public AsyncItemService async() {
+        return async;
+    }
+
+    /**
+     * Returns the cache {@link #getItem(String)} reads through.
+     */
+    public ItemCache cache() {
+        return async.cache();
+    }
+
+    /**
+     * Returns the number of {@link #getItem(String)} calls that shared another call's {@code GetItem} request.
+     */
+    public long coalescedReads() {
+        return async.coalescedReads();
+    }
+
+    /**
+     * @see AsyncItemService#listItems(int, String)
+     * @throws InvalidPageTokenException if the token was not issued by this service
+     */
+    public ItemPage listItems(int limit, String nextToken) {
+        return join(async.listItems(limit, nextToken));
+    }
 
-        return table.scan(request)
-                .items()
-                .stream()
-                .map(this::mapToModel)
-                .toList();
+    /**
+     * @see AsyncItemService#listItems(int, String, Set)
+     * @throws InvalidPageTokenException if the token was not issued by this service
+     */
+    public ItemPage listItems(int limit, String nextToken, Set<String> fields) {
+        return join(async.listItems(limit, nextToken, fields));
     }
 
+    /**
+     * @see AsyncItemService#listItemsByCreatedAt(int, boolean, OffsetDateTime, OffsetDateTime, String)
+     * @throws InvalidPageTokenException if the token was not issued by this service for this order and range
+     */
+    public ItemPage listItemsByCreatedAt(int limit, boolean newestFirst, OffsetDateTime createdFrom,
+                                         OffsetDateTime createdTo, String nextToken) {
+        return join(async.listItemsByCreatedAt(limit, newestFirst, createdFrom, createdTo, nextToken));
+    }
+
+    /**
+     * @see AsyncItemService#listItemsByCreatedAt(int, boolean, OffsetDateTime, OffsetDateTime, String, Set)
+     * @throws InvalidPageTokenException if the token was not issued by this service for this order and range
+     */
+    public ItemPage listItemsByCreatedAt(int limit, boolean newestFirst, OffsetDateTime createdFrom,
+                                         OffsetDateTime createdTo, String nextToken, Set<String> fields) {
+        return join(async.listItemsByCreatedAt(limit, newestFirst, createdFrom, createdTo, nextToken, fields));
+    }
+
+    /**
+     * @see AsyncItemService#getItem(String)
+     * @return the item, or null if no item with the given ID exists
+     */
     public Item getItem(String id) {
-        logger.info("Getting item with ID: {}", id);
-        
-        ItemEntity entity = table.getItem(getKeyById(id));
-        return entity != null ? mapToModel(entity) : null;
+        return join(async.getItem(id));
     }
 
-    public Item createItem(NewItem newItem) {
-        logger.info("Creating new item: {}", newItem.name());
-        
-        OffsetDateTime now = OffsetDateTime.now();
-        String id = UUID.randomUUID().toString();
-        
-        ItemEntity entity = new ItemEntity();
-        entity.setId(id);
-        entity.setName(newItem.name());
-        entity.setDescription(newItem.description());
-        entity.setCreatedAt(now.format(DATE_FORMATTER));
-        entity.setUpdatedAt(now.format(DATE_FORMATTER));
-
-        table.putItem(entity);
-        
-        return new Item(
-            id,
-            newItem.name(),
-            newItem.description(),
-            now,
-            now
-        );
+    /**
+     * @see AsyncItemService#getItem(String, Set)
+     * @return the item, or null if no item with the given ID exists
+     */
+    public Item getItem(String id, Set<String> fields) {
+        return join(async.getItem(id, fields));
     }
 
-    public Item updateItem(String id, Item item) {
-        logger.info("Updating item with ID: {}", id);
-        
-        // Check if item exists
-        if (table.getItem(getKeyById(id)) == null) {
-            return null;
-        }
+    /**
+     * @see AsyncItemService#getItemVersion(String)
+     * @return the version, or null if no item with the given ID exists
+     */
+    public ItemVersion getItemVersion(String id) {
+        return join(async.getItemVersion(id));
+    }
 
-        OffsetDateTime now = OffsetDateTime.now();
-        
-        ItemEntity entity = new ItemEntity();
-        entity.setId(id);
-        entity.setName(item.name());
-        entity.setDescription(item.description());
-        entity.setCreatedAt(item.createdAt().format(DATE_FORMATTER));
-        entity.setUpdatedAt(now.format(DATE_FORMATTER));
+    /**
+     * @see AsyncItemService#batchGetItems(List)
+     */
+    public BatchGetResult batchGetItems(List<String> ids) {
+        return join(async.batchGetItems(ids));
+    }
 
-        table.putItem(entity);
-        
-        return item.withUpdatedAt(now);
+    /**
+     * @see AsyncItemService#batchCreateItems(List)
+     * @return one result per new item, in request order
+     */
+    public List<ItemWriteResult> batchCreateItems(List<NewItem> newItems) {
+        return join(async.batchCreateItems(newItems));
     }
 
-    public void deleteItem(String id) {
-        logger.info("Deleting item with ID: {}", id);
-        table.deleteItem(getKeyById(id));
+    /**
+     * @see AsyncItemService#batchDeleteItems(List)
+     * @return one result per distinct ID, in request order
+     */
+    public List<ItemWriteResult> batchDeleteItems(List<String> ids) {
+        return join(async.batchDeleteItems(ids));
     }
 
-    private Key getKeyById(String id) {
-        return Key.builder().partitionValue(id).build();
+    public Item createItem(NewItem newItem) {
+        return join(async.createItem(newItem));
+    }
+
+    /**
+     * @see AsyncItemService#updateItem(String, Item)
+     * @return the item as stored after the update, or null if no item with the given ID exists
+     */
+    public Item updateItem(String id, Item item) {
+        return join(async.updateItem(id, item));
     }
 
-    private Item mapToModel(ItemEntity entity) {
-        return new Item(
-            entity.getId(),
-            entity.getName(),
-            entity.getDescription(),
-            OffsetDateTime.parse(entity.getCreatedAt(), DATE_FORMATTER),
-            OffsetDateTime.parse(entity.getUpdatedAt(), DATE_FORMATTER)
-        );
+    /**
+     * @see AsyncItemService#deleteItem(String)
+     * @return the item as it was before deletion, or null if no item with the given ID exists
+     */
+    public Item deleteItem(String id) {
+        return join(async.deleteItem(id));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
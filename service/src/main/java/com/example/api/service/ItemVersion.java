@@ -0,0 +1,9 @@
+package com.example.api.service;
+
+import java.time.OffsetDateTime;
+
+/**
+ * The identity and last update time of an item, which is all a conditional request needs to compare.
+ */
+public record ItemVersion(String id, OffsetDateTime updatedAt) {
+}
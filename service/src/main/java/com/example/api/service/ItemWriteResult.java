@@ -0,0 +1,22 @@
+package com.example.api.service;
+
+import com.example.api.model.Item;
+
+/**
+ * The outcome of one write in a batch request.
+ *
+ * @param id the ID of the item written
+ * @param status whether the write was applied
+ * @param item the created item, for a successful create; null otherwise
+ */
+public record ItemWriteResult(String id, Status status, Item item) {
+
+    public enum Status {
+        CREATED,
+        DELETED,
+        /**
+         * DynamoDB had still not applied the write after every retry; the client may send it again.
+         */
+        UNPROCESSED
+    }
+}
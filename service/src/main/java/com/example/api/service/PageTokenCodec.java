@@ -0,0 +1,205 @@
+package com.example.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerAsyncClient;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Encodes DynamoDB pagination keys as opaque, signed page tokens.
+ * <p>
+ * A token is the base64url-encoded JSON form of the last evaluated key and the scope it was issued for,
+ * followed by an HMAC-SHA256 signature of that payload. Tokens are only accepted for the scope they were
+ * issued for, so a token from one listing mode cannot be replayed against another.
+ */
+public class PageTokenCodec {
+    private static final Logger logger = LoggerFactory.getLogger(PageTokenCodec.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    public PageTokenCodec(byte[] secret) {
+        if (secret == null || secret.length == 0) {
+            throw new IllegalArgumentException("Page token secret must not be empty");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    /**
+     * Creates a codec keyed by the Secrets Manager secret named by {@code PAGINATION_SECRET_ARN}, or by the
+     * {@code PAGINATION_SECRET} environment variable when that is set instead.
+     * <p>
+     * The secret is read once, here, so that with SnapStart it is fetched while the function initializes and
+     * restored snapshots never call Secrets Manager. The secret is required in deployed stages. Only locally
+     * and in tests, where {@code STAGE} is unset or {@code local}, is the key derived from the table name
+     * instead; such tokens are tamper-evident but can be forged by anyone who knows the table name.
+     *
+     * @throws IllegalStateException if the secret cannot be read, or is not set in a deployed stage
+     */
+    public static PageTokenCodec fromEnvironment(String tableName) {
+        String secret = System.getenv("PAGINATION_SECRET");
+        String secretArn = System.getenv("PAGINATION_SECRET_ARN");
+        if ((secret == null || secret.isBlank()) && secretArn != null && !secretArn.isBlank()) {
+            secret = readSecret(secretArn.trim());
+        }
+        return fromEnvironment(tableName, secret, System.getenv("STAGE"));
+    }
+
+    static PageTokenCodec fromEnvironment(String tableName, String secret, String stage) {
+        if (secret == null || secret.isBlank()) {
+            if (stage != null && !stage.isBlank() && !"local".equalsIgnoreCase(stage.trim())) {
+                throw new IllegalStateException("PAGINATION_SECRET_ARN must be set in stage " + stage);
+            }
+            logger.warn("PAGINATION_SECRET_ARN is not set; deriving the page token key from the table name");
+            secret = "page-token:" + tableName;
+        }
+        return new PageTokenCodec(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the current value of a secret, with a client used only for this call. The region is taken from
+     * the ARN, which has the form {@code arn:aws:secretsmanager:<region>:<account>:secret:<name>}.
+     */
+    private static String readSecret(String secretArn) {
+        String[] arn = secretArn.split(":");
+        if (arn.length < 7 || !"secretsmanager".equals(arn[2])) {
+            throw new IllegalStateException("PAGINATION_SECRET_ARN must be a Secrets Manager ARN: " + secretArn);
+        }
+        try (SecretsManagerAsyncClient client = SecretsManagerAsyncClient.builder()
+                .region(Region.of(arn[3]))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder())
+                .build()) {
+            return client.getSecretValue(request -> request.secretId(secretArn)).join().secretString();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not read PAGINATION_SECRET_ARN " + secretArn, e.getCause());
+        }
+    }
+
+    /**
+     * Encodes a last evaluated key into a page token.
+     *
+     * @param scope identifies the listing the key belongs to
+     * @param lastEvaluatedKey the key returned with the page; only string attributes are supported
+     * @return the token, or null if there is no further page
+     */
+    public String encode(String scope, Map<String, AttributeValue> lastEvaluatedKey) {
+        if (lastEvaluatedKey == null || lastEvaluatedKey.isEmpty()) {
+            return null;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("s", scope);
+            generator.writeObjectFieldStart("k");
+            for (Map.Entry<String, AttributeValue> attribute : lastEvaluatedKey.entrySet()) {
+                String value = attribute.getValue().s();
+                if (value == null) {
+                    throw new IllegalArgumentException("Unsupported key attribute type for " + attribute.getKey());
+                }
+                generator.writeStringField(attribute.getKey(), value);
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode page token", e);
+        }
+
+        byte[] payload = out.toByteArray();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Decodes a page token back into the exclusive start key for the next page.
+     *
+     * @param scope the listing the token must have been issued for
+     * @return the exclusive start key, or null if the token is null or empty
+     * @throws InvalidPageTokenException if the token is malformed, forged or issued for another scope
+     */
+    public Map<String, AttributeValue> decode(String scope, String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            throw new InvalidPageTokenException("Malformed page token");
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException("Malformed page token");
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InvalidPageTokenException("Page token signature mismatch");
+        }
+
+        String tokenScope = null;
+        Map<String, AttributeValue> key = new HashMap<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidPageTokenException("Malformed page token");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("s".equals(field)) {
+                    tokenScope = parser.getValueAsString();
+                } else if ("k".equals(field) && value == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String attribute = parser.currentName();
+                        parser.nextToken();
+                        key.put(attribute, AttributeValue.builder().s(parser.getValueAsString()).build());
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new InvalidPageTokenException("Malformed page token");
+        }
+
+        if (!scope.equals(tokenScope)) {
+            throw new InvalidPageTokenException("Page token was issued for a different listing");
+        }
+        if (key.isEmpty()) {
+            throw new InvalidPageTokenException("Malformed page token");
+        }
+        return key;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign page token", e);
+        }
+    }
+}
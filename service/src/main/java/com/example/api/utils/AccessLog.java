@@ -0,0 +1,240 @@
+package com.example.api.utils;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sampled access log, writing one JSON object per logged request.
+ * <p>
+ * Every error response (status 400 or above) and every request slower than the configured threshold is
+ * logged; other requests are logged at the configured sample rate. Each line records the method, the route
+ * template, the path, the query parameters, the status, the latency, the request and response body sizes in
+ * bytes and the request ID, plus why the request was logged. Headers and bodies are never logged, and the
+ * values of query parameters whose names suggest credentials, such as {@code token} or {@code key}, are
+ * redacted.
+ * <p>
+ * Lines are built in a per-thread buffer that is sized for a typical line and reused, and nothing is built
+ * for requests that are not logged.
+ */
+public final class AccessLog {
+
+    /**
+     * Default fraction of successful, fast requests that are logged.
+     */
+    public static final double DEFAULT_SAMPLE_RATE = 0.1;
+
+    /**
+     * Default latency at or above which a request is always logged.
+     */
+    public static final Duration DEFAULT_SLOW_THRESHOLD = Duration.ofSeconds(1);
+
+    private static final int INITIAL_BUFFER_CHARS = 512;
+    private static final int MAX_RETAINED_BUFFER_CHARS = 8 * 1024;
+    private static final int MAX_VALUE_CHARS = 256;
+    private static final String REDACTED = "[REDACTED]";
+    private static final String[] SECRET_NAME_PARTS =
+            {"token", "secret", "password", "key", "signature", "auth", "session", "credential"};
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<StringBuilder> BUFFER =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_CHARS));
+
+    private final Logger logger;
+    private final double sampleRate;
+    private final long slowNanos;
+
+    /**
+     * @param sampleRate the fraction, from 0 to 1, of successful, fast requests to log
+     * @param slowThreshold requests taking at least this long are always logged
+     */
+    public AccessLog(double sampleRate, Duration slowThreshold) {
+        this(LoggerFactory.getLogger(AccessLog.class), sampleRate, slowThreshold);
+    }
+
+    public AccessLog(Logger logger, double sampleRate, Duration slowThreshold) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        if (slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow request threshold must not be negative");
+        }
+        this.logger = logger;
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Creates an access log configured by {@code ACCESS_LOG_SAMPLE_RATE} (default 0.1) and
+     * {@code ACCESS_LOG_SLOW_MS} (default 1000).
+     */
+    public static AccessLog fromEnvironment() {
+        String rate = System.getenv("ACCESS_LOG_SAMPLE_RATE");
+        String slowMs = System.getenv("ACCESS_LOG_SLOW_MS");
+        try {
+            return new AccessLog(
+                    rate == null || rate.isBlank() ? DEFAULT_SAMPLE_RATE : Double.parseDouble(rate.trim()),
+                    slowMs == null || slowMs.isBlank()
+                            ? DEFAULT_SLOW_THRESHOLD
+                            : Duration.ofMillis(Long.parseLong(slowMs.trim())));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("ACCESS_LOG_SAMPLE_RATE and ACCESS_LOG_SLOW_MS must be numbers", e);
+        }
+    }
+
+    /**
+     * Logs the request if it failed, was slow or is sampled.
+     *
+     * @param route the template of the matched route, or null if no route matched
+     * @param latencyNanos the time taken to handle the request
+     * @param requestId the ID of the invocation or request, or null if there is none
+     */
+    public void log(APIGatewayProxyRequestEvent request, String route, APIGatewayProxyResponseEvent response,
+                    long latencyNanos, String requestId) {
+        if (!logger.isInfoEnabled()) {
+            return;
+        }
+        int status = response.getStatusCode() != null ? response.getStatusCode() : 0;
+        String reason;
+        if (status >= 400) {
+            reason = "error";
+        } else if (latencyNanos >= slowNanos) {
+            reason = "slow";
+        } else if (sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate)) {
+            reason = "sampled";
+        } else {
+            return;
+        }
+
+        StringBuilder line = BUFFER.get();
+        line.setLength(0);
+        try {
+            line.append("{\"type\":\"access\",\"requestId\":");
+            appendString(line, requestId);
+            line.append(",\"method\":");
+            appendString(line, request.getHttpMethod());
+            line.append(",\"route\":");
+            appendString(line, route);
+            line.append(",\"path\":");
+            appendString(line, request.getPath());
+            appendQuery(line, request.getQueryStringParameters());
+            line.append(",\"status\":").append(status);
+            line.append(",\"latencyMs\":");
+            appendMillis(line, latencyNanos);
+            line.append(",\"requestBytes\":").append(bodyBytes(request.getBody(), request.getIsBase64Encoded()));
+            line.append(",\"responseBytes\":").append(bodyBytes(response.getBody(), response.getIsBase64Encoded()));
+            line.append(",\"reason\":\"").append(reason).append("\"}");
+            logger.info(line.toString());
+        } finally {
+            if (line.capacity() > MAX_RETAINED_BUFFER_CHARS) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the size in bytes of a body as sent, decoding the length of a base64-encoded body and counting the
+     * UTF-8 length of any other, without encoding it.
+     */
+    public static long bodyBytes(String body, Boolean base64Encoded) {
+        if (body == null) {
+            return 0;
+        }
+        int length = body.length();
+        if (Boolean.TRUE.equals(base64Encoded)) {
+            int padding = 0;
+            while (padding < 2 && length - padding > 0 && body.charAt(length - padding - 1) == '=') {
+                padding++;
+            }
+            return (long) length * 3 / 4 - padding;
+        }
+        long bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = body.charAt(i);
+            if (c >= 0x800) {
+                // Surrogate pairs take four bytes, two for each half
+                bytes += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns whether a query parameter's value may be a credential and must not be logged.
+     */
+    static boolean isSecret(String name) {
+        for (String part : SECRET_NAME_PARTS) {
+            for (int i = 0; i + part.length() <= name.length(); i++) {
+                if (name.regionMatches(true, i, part, 0, part.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static void appendQuery(StringBuilder line, Map<String, String> parameters) {
+        if (parameters == null || parameters.isEmpty()) {
+            return;
+        }
+        line.append(",\"query\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            if (!first) {
+                line.append(',');
+            }
+            first = false;
+            String name = parameter.getKey();
+            appendString(line, name);
+            line.append(':');
+            appendString(line, isSecret(name) ? REDACTED : parameter.getValue());
+        }
+        line.append('}');
+    }
+
+    private static void appendMillis(StringBuilder line, long nanos) {
+        long micros = Math.max(nanos, 0) / 1000;
+        long fraction = micros % 1000;
+        line.append(micros / 1000).append('.');
+        if (fraction < 100) {
+            line.append(fraction < 10 ? "00" : "0");
+        }
+        line.append(fraction);
+    }
+
+    /**
+     * Appends a JSON string, escaped and truncated, or null.
+     */
+    private static void appendString(StringBuilder line, String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        int length = Math.min(value.length(), MAX_VALUE_CHARS);
+        if (length < value.length() && Character.isHighSurrogate(value.charAt(length - 1))) {
+            length--;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xf]);
+            } else {
+                line.append(c);
+            }
+        }
+        if (length < value.length()) {
+            line.append("...");
+        }
+        line.append('"');
+    }
+}
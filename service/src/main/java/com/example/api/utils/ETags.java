@@ -0,0 +1,139 @@
+package com.example.api.utils;
+
+import com.example.api.model.Item;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Strong entity tags for item representations, and {@code If-None-Match} matching.
+ * <p>
+ * Every write to an item sets its {@code updatedAt}, so an item's ID and update time identify its
+ * representation. A page of items is tagged with a rolling hash of the ID and update time of each item in
+ * order, plus the token for the next page, so adding, removing, reordering or changing any item changes it.
+ * Representations that show only some of an entity's properties are told apart by a variant, such as the list
+ * of selected properties, that is hashed in as well. Tags are 64-bit FNV-1a hashes, rendered in base 36.
+ */
+public final class ETags {
+
+    /**
+     * Suffix {@link ResponseCompressor} adds to the tag of a gzip-encoded response, since it is a different
+     * representation of the same entity.
+     */
+    static final String GZIP_SUFFIX = "-gzip";
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static String forItem(String id, OffsetDateTime updatedAt) {
+        return forItem(id, updatedAt, null);
+    }
+
+    /**
+     * @param variant identifies a partial representation of the item, or null for the full representation
+     */
+    public static String forItem(String id, OffsetDateTime updatedAt, String variant) {
+        return quote(withVariant(mix(FNV_OFFSET_BASIS, id, updatedAt), variant));
+    }
+
+    public static String forPage(List<Item> items, String nextToken) {
+        return forPage(items, nextToken, null);
+    }
+
+    /**
+     * @param variant identifies a partial representation of the items, or null for the full representation
+     */
+    public static String forPage(List<Item> items, String nextToken, String variant) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Item item : items) {
+            hash = mix(hash, item.id(), item.updatedAt());
+        }
+        return quote(withVariant(mix(hash, nextToken), variant));
+    }
+
+    /**
+     * Returns whether an {@code If-None-Match} header value matches the tag, using the weak comparison the
+     * header calls for and ignoring the suffix of a compressed representation.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the tag to send with a 304 for an {@code If-None-Match} value that {@link #matches matches} it:
+     * the tag with the suffix of a compressed representation if that is the one the client holds, so that the
+     * 304 carries the tag a 200 would have, or else the tag itself.
+     */
+    public static String asMatched(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return etag;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.endsWith(GZIP_SUFFIX + "\"") && opaque(tag).equals(opaque)) {
+                return opaque.substring(0, opaque.length() - 1) + GZIP_SUFFIX + "\"";
+            }
+        }
+        return etag;
+    }
+
+    private static String opaque(String tag) {
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.endsWith(GZIP_SUFFIX + "\"")) {
+            tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length() - 1) + "\"";
+        }
+        return tag;
+    }
+
+    private static long withVariant(long hash, String variant) {
+        return variant != null ? mix(hash, variant) : hash;
+    }
+
+    private static long mix(long hash, String id, OffsetDateTime updatedAt) {
+        hash = mix(hash, id);
+        if (updatedAt != null) {
+            hash = mix(hash, updatedAt.toEpochSecond());
+            hash = mix(hash, updatedAt.getNano());
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        // Separates consecutive values so that ("ab", "c") and ("a", "bc") hash differently
+        return (hash ^ 0xffff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
+    private static String quote(long hash) {
+        return "\"" + Long.toUnsignedString(hash, 36) + "\"";
+    }
+}
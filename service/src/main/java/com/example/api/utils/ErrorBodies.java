@@ -0,0 +1,73 @@
+package com.example.api.utils;
+
+import com.example.api.model.Error;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serialized bodies of error responses, written once per distinct error and reused afterwards.
+ * <p>
+ * Error responses repeat the same few codes and messages, so each body is serialized on first use and kept.
+ * The standard errors are serialized when the instance is created, ahead of the first request or the SnapStart
+ * snapshot. At most a fixed number of bodies are kept, so that messages built from request input cannot grow
+ * the cache without bound; past that, bodies are serialized for each response.
+ */
+public final class ErrorBodies {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private static final ErrorBodies SHARED = new ErrorBodies(JsonCodec.shared());
+
+    private final JsonCodec json;
+    // Keyed by code, then message, so that a lookup builds no composite key
+    private final ConcurrentMap<String, ConcurrentMap<String, String>> bodies = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    ErrorBodies(JsonCodec json) {
+        this.json = json;
+        body("BAD_REQUEST", "Invalid request body");
+        body("UNAUTHORIZED", "Missing or invalid authentication token");
+        body("NOT_FOUND", "Item not found");
+        body("NOT_FOUND", "Resource not found");
+        body("INTERNAL_SERVER_ERROR", "An internal server error occurred");
+    }
+
+    /**
+     * Returns the instance shared by the process.
+     */
+    public static ErrorBodies shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the serialized {@code Error} with the given code and message.
+     */
+    public String body(String code, String message) {
+        Map<String, String> messages = bodies.get(code);
+        String body = messages != null ? messages.get(message) : null;
+        if (body != null) {
+            return body;
+        }
+        body = serialize(code, message);
+        if (size.get() < MAX_ENTRIES) {
+            String existing = bodies.computeIfAbsent(code, c -> new ConcurrentHashMap<>()).putIfAbsent(message, body);
+            if (existing != null) {
+                return existing;
+            }
+            size.incrementAndGet();
+        }
+        return body;
+    }
+
+    private String serialize(String code, String message) {
+        try {
+            return json.write(new Error(code, message), json.errorWriter());
+        } catch (IOException e) {
+            throw new IllegalStateException("Error serializing " + code + " response", e);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.api.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate-limited error logging that reports repeats as counts instead of one entry per request.
+ * <p>
+ * Errors are grouped by log message and exception class. The first error of each group in a window is logged;
+ * further ones are only counted, and the counts are logged as one summary line once the window has passed: on
+ * the next error logged or {@link #flushIfDue()} call after it, or on {@link #flush()} at shutdown. Server
+ * errors are logged with their stack trace; client errors, such as unparseable request bodies, are logged at
+ * {@code WARN} with a shortened message and no stack trace.
+ * <p>
+ * At most a fixed number of groups are tracked per window; errors beyond them are counted together. Counting
+ * takes a shared lock and replacing the window an exclusive one, so an error counted while a window is being
+ * summarized is reported in exactly one of the two.
+ */
+public final class ErrorLog {
+
+    /**
+     * Default length of the window over which repeated errors are counted.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+
+    private static final int MAX_GROUPS = 128;
+    private static final int MAX_MESSAGE_CHARS = 200;
+    private static final Group OTHER = new Group("Other errors", Throwable.class);
+
+    private static final ErrorLog SHARED = new ErrorLog(LoggerFactory.getLogger(ErrorLog.class));
+
+    private final Logger logger;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final AtomicReference<Window> window;
+    private final StampedLock windowLock = new StampedLock();
+
+    public ErrorLog(Logger logger) {
+        this(logger, DEFAULT_WINDOW, System::nanoTime);
+    }
+
+    /**
+     * @param clock the time source, in nanoseconds
+     */
+    public ErrorLog(Logger logger, Duration window, LongSupplier clock) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.logger = logger;
+        this.windowNanos = window.toNanos();
+        this.clock = clock;
+        this.window = new AtomicReference<>(new Window(clock.getAsLong()));
+    }
+
+    /**
+     * Returns the error log shared by every handler in the process, so that repeats are counted together
+     * wherever they are logged.
+     */
+    public static ErrorLog shared() {
+        return SHARED;
+    }
+
+    /**
+     * Logs a server error, with its stack trace, unless the same error was already logged in this window.
+     */
+    public void error(String message, Throwable error) {
+        if (record(message, error)) {
+            logger.error(message, error);
+        }
+    }
+
+    /**
+     * Logs a client error, without a stack trace, unless the same error was already logged in this window.
+     */
+    public void clientError(String message, Throwable error) {
+        if (record(message, error)) {
+            logger.warn("{}: {}", message, describe(error));
+        }
+    }
+
+    /**
+     * Logs the counts of the errors suppressed so far, if there are any, and starts a new window.
+     */
+    public void flush() {
+        summarize(window.get());
+    }
+
+    /**
+     * Logs the counts of the errors suppressed so far, if there are any, and starts a new window, if the current
+     * window has passed. Called at the end of each request, so that repeats in a burst are reported even if no
+     * further error follows.
+     */
+    public void flushIfDue() {
+        Window current = window.get();
+        if (clock.getAsLong() - current.start >= windowNanos) {
+            summarize(current);
+        }
+    }
+
+    /**
+     * Counts the error and returns whether it is the first of its group in the current window.
+     */
+    private boolean record(String message, Throwable error) {
+        flushIfDue();
+
+        Group group = new Group(message, error.getClass());
+        long stamp = windowLock.readLock();
+        try {
+            ConcurrentMap<Group, LongAdder> suppressed = window.get().suppressed;
+            LongAdder count = suppressed.get(group);
+            if (count == null) {
+                if (suppressed.size() >= MAX_GROUPS) {
+                    suppressed.computeIfAbsent(OTHER, g -> new LongAdder()).increment();
+                    return false;
+                }
+                count = suppressed.putIfAbsent(group, new LongAdder());
+                if (count == null) {
+                    return true;
+                }
+            }
+            count.increment();
+            return false;
+        } finally {
+            windowLock.unlockRead(stamp);
+        }
+    }
+
+    private void summarize(Window current) {
+        // Only the caller that replaces the window logs it, once no error is still being counted into it
+        long stamp = windowLock.writeLock();
+        try {
+            if (!window.compareAndSet(current, new Window(clock.getAsLong()))) {
+                return;
+            }
+        } finally {
+            windowLock.unlockWrite(stamp);
+        }
+
+        StringBuilder summary = null;
+        for (Map.Entry<Group, LongAdder> entry : current.suppressed.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count == 0) {
+                continue;
+            }
+            if (summary == null) {
+                summary = new StringBuilder("Repeated errors not logged individually:");
+            } else {
+                summary.append(';');
+            }
+            Group group = entry.getKey();
+            summary.append(' ').append(group.message());
+            if (group != OTHER) {
+                summary.append(" (").append(group.type().getSimpleName()).append(')');
+            }
+            summary.append(" x").append(count);
+        }
+        if (summary != null) {
+            logger.warn(summary.toString());
+        }
+    }
+
+    /**
+     * Describes an exception by its class and message, leaving out the input excerpt and location Jackson adds.
+     */
+    private static String describe(Throwable error) {
+        String message = error instanceof JsonProcessingException
+                ? ((JsonProcessingException) error).getOriginalMessage()
+                : error.getMessage();
+        if (message == null) {
+            return error.getClass().getSimpleName();
+        }
+        if (message.length() > MAX_MESSAGE_CHARS) {
+            message = message.substring(0, MAX_MESSAGE_CHARS) + "...";
+        }
+        return error.getClass().getSimpleName() + ": " + message;
+    }
+
+    private record Group(String message, Class<?> type) {
+    }
+
+    private static final class Window {
+        final long start;
+        final ConcurrentMap<Group, LongAdder> suppressed = new ConcurrentHashMap<>();
+
+        /**
+         * @param start the time the window started, from the monotonic clock
+         */
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
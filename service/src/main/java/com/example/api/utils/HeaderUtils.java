@@ -1,7 +1,9 @@
 package com.example.api.utils;
 
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -13,6 +15,19 @@ public class HeaderUtils {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
     
+    /**
+     * Headers of every JSON response, shared by all responses that need no others. The map is immutable; add
+     * headers to a response with {@link #mutableHeaders}.
+     */
+    public static final Map<String, String> JSON_RESPONSE_HEADERS = Map.of(
+            "Content-Type", "application/json",
+            "Access-Control-Allow-Origin", "*");
+    
+    /**
+     * Headers of every response without a body, shared and immutable like {@link #JSON_RESPONSE_HEADERS}.
+     */
+    public static final Map<String, String> EMPTY_RESPONSE_HEADERS = Map.of("Access-Control-Allow-Origin", "*");
+    
     private HeaderUtils() {
         // Private constructor to prevent instantiation
     }
@@ -24,26 +39,50 @@ public class HeaderUtils {
      * @return an Optional containing the bearer token, or empty if not found
      */
     public static Optional<String> extractBearerToken(APIGatewayProxyRequestEvent event) {
-        Map<String, String> headers = event.getHeaders();
-        if (headers == null) {
-            return Optional.empty();
+        String authHeader = getHeader(event.getHeaders(), AUTHORIZATION_HEADER);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            return Optional.of(authHeader.substring(BEARER_PREFIX.length()));
         }
         
-        String authHeader = headers.get(AUTHORIZATION_HEADER);
-        if (authHeader == null) {
-            // Try case-insensitive lookup
+        return Optional.empty();
+    }
+    
+    /**
+     * Returns a response's headers in a map that can be modified, replacing shared immutable headers, or
+     * missing ones, with a copy the first time a response needs to add a header of its own.
+     */
+    public static Map<String, String> mutableHeaders(APIGatewayProxyResponseEvent response) {
+        Map<String, String> headers = response.getHeaders();
+        if (headers instanceof HashMap) {
+            return headers;
+        }
+        Map<String, String> copy = new HashMap<>(8);
+        if (headers != null) {
+            copy.putAll(headers);
+        }
+        response.setHeaders(copy);
+        return copy;
+    }
+    
+    /**
+     * Returns the value of a header, matching its name case-insensitively.
+     * 
+     * @param headers the headers, which may be null
+     * @param name the header name
+     * @return the header value, or null if the header is not present
+     */
+    public static String getHeader(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        String value = headers.get(name);
+        if (value == null) {
             for (Map.Entry<String, String> entry : headers.entrySet()) {
-                if (AUTHORIZATION_HEADER.equalsIgnoreCase(entry.getKey())) {
-                    authHeader = entry.getValue();
-                    break;
+                if (name.equalsIgnoreCase(entry.getKey())) {
+                    return entry.getValue();
                 }
             }
         }
-        
-        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
-            return Optional.of(authHeader.substring(BEARER_PREFIX.length()));
-        }
-        
-        return Optional.empty();
+        return value;
     }
 }
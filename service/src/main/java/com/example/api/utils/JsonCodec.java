@@ -0,0 +1,280 @@
+package com.example.api.utils;
+
+import com.example.api.model.BatchDeleteRequest;
+import com.example.api.model.BatchGetRequest;
+import com.example.api.model.Error;
+import com.example.api.model.Item;
+import com.example.api.model.NewItem;
+import com.example.model.BatchDeleteRequestJson;
+import com.example.model.BatchGetRequestJson;
+import com.example.model.ErrorJson;
+import com.example.model.ItemJson;
+import com.example.model.ItemUpdateJson;
+import com.example.model.NewItemJson;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The JSON codec shared by every handler in the process.
+ * <p>
+ * The API's own schemas ({@code Item}, {@code ItemUpdate}, {@code NewItem}, {@code Error} and the batch get and
+ * delete requests) are read and written by streaming codecs generated from {@code openapi.yaml} in the model
+ * module, which check required properties and involve no reflection. Everything else, such as batch results
+ * and ad hoc maps, goes through a single {@link ObjectMapper} configured once, with the Java time module so
+ * that {@code OffsetDateTime} fields are written as ISO-8601 strings, and with Blackbird, which replaces
+ * reflective property access with generated accessors. Both paths are exercised once when the codec is
+ * created, so their caches are populated by the time the first request arrives, or the SnapStart snapshot is
+ * taken.
+ */
+public final class JsonCodec {
+
+    /**
+     * Reads a value starting at the parser's first token.
+     */
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Writes a value to the generator.
+     */
+    @FunctionalInterface
+    public interface Writer<T> {
+        void write(JsonGenerator generator, T value) throws IOException;
+    }
+
+    private static final int INITIAL_BUFFER_CHARS = 1024;
+    private static final int MAX_RETAINED_BUFFER_CHARS = 64 * 1024;
+    private static final ThreadLocal<StringWriter> BUFFER =
+            ThreadLocal.withInitial(() -> new StringWriter(INITIAL_BUFFER_CHARS));
+
+    private static final Reader<Item> ITEM_READER = parser -> ItemJson.read(parser, Item::new);
+    private static final Reader<Item> ITEM_UPDATE_READER = parser -> ItemUpdateJson.read(parser,
+            (id, name, description) -> new Item(id, name, description, null, null));
+    private static final Reader<NewItem> NEW_ITEM_READER = parser -> NewItemJson.read(parser, NewItem::new);
+    private static final Reader<BatchGetRequest> BATCH_GET_REQUEST_READER =
+            parser -> BatchGetRequestJson.read(parser, BatchGetRequest::new);
+    private static final Reader<BatchDeleteRequest> BATCH_DELETE_REQUEST_READER =
+            parser -> BatchDeleteRequestJson.read(parser, BatchDeleteRequest::new);
+    private static final Writer<Item> ITEM_WRITER = ItemJson::write;
+    private static final Writer<List<Item>> ITEM_LIST_WRITER = listOf(ITEM_WRITER);
+    private static final Writer<NewItem> NEW_ITEM_WRITER = NewItemJson::write;
+    private static final Writer<Error> ERROR_WRITER = ErrorJson::write;
+
+    /**
+     * Generated writers used by {@link #write(Object)}, by exact runtime class.
+     */
+    private static final Map<Class<?>, Writer<?>> GENERATED_WRITERS = Map.of(
+            Item.class, ITEM_WRITER,
+            NewItem.class, NEW_ITEM_WRITER,
+            Error.class, ERROR_WRITER);
+
+    private static final JsonCodec SHARED = new JsonCodec();
+
+    private final ObjectMapper mapper;
+    private final JsonFactory factory;
+    private final ConcurrentMap<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private JsonCodec() {
+        this.mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        // Blackbird defines accessor classes at runtime, which a native image cannot do
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") == null) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        this.factory = mapper.getFactory();
+        warm();
+    }
+
+    /**
+     * Returns the codec shared by the process, creating and warming it on first use.
+     */
+    public static JsonCodec shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the underlying mapper, for callers that need a reader or writer this codec does not provide.
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    public Reader<Item> itemReader() {
+        return ITEM_READER;
+    }
+
+    /**
+     * Reads the body of an item update, in which only the name is required; the ID comes from the path.
+     */
+    public Reader<Item> itemUpdateReader() {
+        return ITEM_UPDATE_READER;
+    }
+
+    public Reader<NewItem> newItemReader() {
+        return NEW_ITEM_READER;
+    }
+
+    public Reader<BatchGetRequest> batchGetRequestReader() {
+        return BATCH_GET_REQUEST_READER;
+    }
+
+    public Reader<BatchDeleteRequest> batchDeleteRequestReader() {
+        return BATCH_DELETE_REQUEST_READER;
+    }
+
+    public Writer<Item> itemWriter() {
+        return ITEM_WRITER;
+    }
+
+    public Writer<List<Item>> itemListWriter() {
+        return ITEM_LIST_WRITER;
+    }
+
+    /**
+     * Returns the names of the properties of the {@code Item} schema, which sparse fieldsets may select.
+     */
+    public Set<String> itemProperties() {
+        return ItemJson.PROPERTIES;
+    }
+
+    /**
+     * Returns a writer for items that writes only the given properties, or every property if they are null.
+     */
+    public Writer<Item> itemWriter(Set<String> fields) {
+        return fields != null ? (generator, item) -> ItemJson.write(generator, item, fields) : ITEM_WRITER;
+    }
+
+    /**
+     * Returns a writer for lists of items that writes only the given properties of each, or every property if
+     * they are null.
+     */
+    public Writer<List<Item>> itemListWriter(Set<String> fields) {
+        return fields != null ? listOf(itemWriter(fields)) : ITEM_LIST_WRITER;
+    }
+
+    public Writer<Error> errorWriter() {
+        return ERROR_WRITER;
+    }
+
+    /**
+     * Returns a databind reader for the type, built on first use and reused afterwards.
+     */
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+
+    /**
+     * Returns a databind writer for the type, built on first use and reused afterwards.
+     */
+    public ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, mapper::writerFor);
+    }
+
+    /**
+     * Reads a value with the given reader.
+     */
+    public <T> T read(String json, Reader<T> reader) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            return reader.read(parser);
+        }
+    }
+
+    /**
+     * Reads a value of the given type with its cached databind reader.
+     */
+    public <T> T read(String json, Class<T> type) throws IOException {
+        return readerFor(type).readValue(json);
+    }
+
+    /**
+     * Writes a value with the given writer.
+     * <p>
+     * The text is built in a per-thread {@link StringWriter} that is reused from call to call, so only the
+     * returned string is allocated for it rather than a writer grown from empty each time. A buffer grown past
+     * {@value #MAX_RETAINED_BUFFER_CHARS} characters by an unusually large value is dropped afterwards.
+     */
+    public <T> String write(T value, Writer<? super T> writer) throws IOException {
+        StringWriter out = BUFFER.get();
+        StringBuffer buffer = out.getBuffer();
+        buffer.setLength(0);
+        try {
+            try (JsonGenerator generator = factory.createGenerator(out)) {
+                writer.write(generator, value);
+            }
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER_CHARS) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Writes a value with the generated writer for its runtime type, or else the cached databind writer.
+     */
+    @SuppressWarnings("unchecked")
+    public String write(Object value) throws IOException {
+        Writer<Object> generated = (Writer<Object>) GENERATED_WRITERS.get(value.getClass());
+        if (generated != null) {
+            return write(value, generated);
+        }
+        return writerFor(value.getClass()).writeValueAsString(value);
+    }
+
+    /**
+     * Returns a writer for a JSON array whose elements are written by the given writer.
+     */
+    public static <T> Writer<List<T>> listOf(Writer<? super T> elementWriter) {
+        return (generator, values) -> {
+            generator.writeStartArray();
+            for (T value : values) {
+                elementWriter.write(generator, value);
+            }
+            generator.writeEndArray();
+        };
+    }
+
+    /**
+     * Round-trips a sample of each schema so that the generated codecs are loaded, and the databind path is
+     * resolved for the item type that batch results embed, now rather than on the first request.
+     */
+    private void warm() {
+        OffsetDateTime now = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        Item item = new Item("warm-up", "Warm-up", "Warm-up item", now, now);
+        try {
+            read(write(item, ITEM_WRITER), ITEM_READER);
+            write(List.of(item), ITEM_LIST_WRITER);
+            read("{\"name\":\"Warm-up\",\"description\":\"Warm-up item\"}", NEW_ITEM_READER);
+            read("{\"id\":\"warm-up\",\"name\":\"Warm-up\"}", ITEM_UPDATE_READER);
+            read("{\"ids\":[\"warm-up\"]}", BATCH_GET_REQUEST_READER);
+            read("{\"ids\":[\"warm-up\"]}", BATCH_DELETE_REQUEST_READER);
+            write(new Error("WARM_UP", "Warm-up"), ERROR_WRITER);
+            writerFor(List.class).writeValueAsString(List.of(item));
+        } catch (IOException e) {
+            throw new IllegalStateException("JSON codec failed to warm up", e);
+        }
+    }
+}
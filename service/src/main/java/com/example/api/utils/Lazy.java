@@ -0,0 +1,65 @@
+package com.example.api.utils;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe, memoizing supplier that defers creating a value until it is first requested.
+ *
+ * @param <T> the type of the lazily created value
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private final Supplier<? extends T> factory;
+    private volatile T value;
+
+    private Lazy(Supplier<? extends T> factory) {
+        this.factory = Objects.requireNonNull(factory, "factory");
+    }
+
+    /**
+     * Creates a lazy value backed by the given factory.
+     *
+     * @param factory the factory invoked at most once, on first access
+     * @return a new lazy value
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> factory) {
+        return new Lazy<>(factory);
+    }
+
+    /**
+     * Returns the value, creating it on the first call.
+     */
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = Objects.requireNonNull(factory.get(), "Lazy factory returned null");
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards the current value, if any, so the next {@link #get()} creates a new one.
+     *
+     * @return the discarded value, or null if the value had not been created
+     */
+    public synchronized T reset() {
+        T previous = value;
+        value = null;
+        return previous;
+    }
+
+    /**
+     * Returns true if the value has already been created.
+     */
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
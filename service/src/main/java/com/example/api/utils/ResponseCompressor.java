@@ -0,0 +1,204 @@
+package com.example.api.utils;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip-compresses response bodies for clients that accept it.
+ * <p>
+ * A JSON or text body of at least the configured number of characters is compressed when the request's
+ * {@code Accept-Encoding} allows gzip, and returned base64-encoded with {@code isBase64Encoded} set, as API
+ * Gateway and Function URLs expect for binary bodies. Such responses carry {@code Vary: Accept-Encoding}
+ * whether or not they were compressed. Bodies that do not shrink are left as they are. A strong
+ * {@code ETag} on a compressed response gets a {@code -gzip} suffix, since the encoded bytes differ from the
+ * identity representation; {@link ETags#matches} ignores the suffix when comparing.
+ * <p>
+ * The deflater, checksum and output buffer are pooled and reused across invocations instead of being created
+ * for every response; the gzip header and trailer are written directly so that one deflater can be reset and
+ * used again.
+ */
+public final class ResponseCompressor {
+
+    /**
+     * Default size, in characters, below which bodies are not worth compressing.
+     */
+    public static final int DEFAULT_MIN_CHARS = 1024;
+
+    private static final int POOL_SIZE = 16;
+    private static final int INITIAL_BUFFER_BYTES = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER_BYTES = 256 * 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int GZIP_TRAILER_BYTES = 8;
+
+    private final int minChars;
+    private final BlockingQueue<Buffers> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * @param minChars bodies shorter than this are never compressed
+     */
+    public ResponseCompressor(int minChars) {
+        if (minChars < 0) {
+            throw new IllegalArgumentException("minChars must not be negative");
+        }
+        this.minChars = minChars;
+    }
+
+    /**
+     * Creates a compressor configured by {@code RESPONSE_COMPRESSION_MIN_CHARS} (default 1024).
+     */
+    public static ResponseCompressor fromEnvironment() {
+        String value = System.getenv("RESPONSE_COMPRESSION_MIN_CHARS");
+        if (value == null || value.isBlank()) {
+            return new ResponseCompressor(DEFAULT_MIN_CHARS);
+        }
+        try {
+            return new ResponseCompressor(Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("RESPONSE_COMPRESSION_MIN_CHARS must be a number: " + value, e);
+        }
+    }
+
+    /**
+     * Compresses the response body in place if the request accepts gzip and the body qualifies.
+     *
+     * @return the given response
+     */
+    public APIGatewayProxyResponseEvent apply(APIGatewayProxyRequestEvent request,
+                                              APIGatewayProxyResponseEvent response) {
+        String body = response.getBody();
+        if (body == null || body.length() < minChars || Boolean.TRUE.equals(response.getIsBase64Encoded())) {
+            return response;
+        }
+        if (HeaderUtils.getHeader(response.getHeaders(), "Content-Encoding") != null
+                || !isCompressible(HeaderUtils.getHeader(response.getHeaders(), "Content-Type"))) {
+            return response;
+        }
+
+        Map<String, String> headers = HeaderUtils.mutableHeaders(response);
+        headers.put("Vary", "Accept-Encoding");
+        if (!acceptsGzip(HeaderUtils.getHeader(request.getHeaders(), "Accept-Encoding"))) {
+            return response;
+        }
+
+        byte[] input = body.getBytes(StandardCharsets.UTF_8);
+        Buffers buffers = pool.poll();
+        if (buffers == null) {
+            buffers = new Buffers();
+        }
+        try {
+            int length = buffers.gzip(input);
+            if (length < input.length) {
+                ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buffers.out, 0, length));
+                response.setBody(new String(encoded.array(), 0, encoded.limit(), StandardCharsets.ISO_8859_1));
+                response.setIsBase64Encoded(true);
+                headers.put("Content-Encoding", "gzip");
+                String etag = HeaderUtils.getHeader(headers, "ETag");
+                if (etag != null && etag.startsWith("\"") && etag.endsWith("\"")) {
+                    headers.put("ETag", etag.substring(0, etag.length() - 1) + ETags.GZIP_SUFFIX + "\"");
+                }
+            }
+        } finally {
+            release(buffers);
+        }
+        return response;
+    }
+
+    /**
+     * Returns whether an {@code Accept-Encoding} value allows gzip, honouring {@code q=0} and the
+     * {@code *} wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim();
+            double quality = 1;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if ("gzip".equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+                gzip = quality;
+            } else if ("*".equals(coding)) {
+                any = quality;
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType != null
+                && (contentType.startsWith("application/json") || contentType.startsWith("text/"));
+    }
+
+    private void release(Buffers buffers) {
+        if (buffers.out.length > MAX_RETAINED_BUFFER_BYTES) {
+            buffers.out = new byte[INITIAL_BUFFER_BYTES];
+        }
+        if (!pool.offer(buffers)) {
+            buffers.deflater.end();
+        }
+    }
+
+    /**
+     * The reusable state for compressing one body at a time.
+     */
+    private static final class Buffers {
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final CRC32 crc = new CRC32();
+        private byte[] out = new byte[INITIAL_BUFFER_BYTES];
+
+        /**
+         * Writes the gzip encoding of the input to {@link #out} and returns its length.
+         */
+        int gzip(byte[] input) {
+            deflater.reset();
+            deflater.setInput(input);
+            deflater.finish();
+            crc.reset();
+            crc.update(input);
+
+            System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+            int length = GZIP_HEADER.length;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            if (out.length - length < GZIP_TRAILER_BYTES) {
+                out = Arrays.copyOf(out, length + GZIP_TRAILER_BYTES);
+            }
+            length = writeIntLittleEndian((int) crc.getValue(), length);
+            return writeIntLittleEndian(input.length, length);
+        }
+
+        private int writeIntLittleEndian(int value, int offset) {
+            out[offset] = (byte) value;
+            out[offset + 1] = (byte) (value >> 8);
+            out[offset + 2] = (byte) (value >> 16);
+            out[offset + 3] = (byte) (value >> 24);
+            return offset + 4;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.api.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-route request metrics, published as CloudWatch Embedded Metric Format (EMF) log lines.
+ * <p>
+ * Each request is recorded against its route: a count, a count per status class, and the latency and the
+ * request and response body sizes as statistic sets (minimum, maximum, sum and count). Requests are
+ * aggregated across invocations and written out once the aggregate is older than the configured maximum age,
+ * checked before each request is recorded (or, with a maximum age of zero, right after it), and on shutdown,
+ * so the number of lines stays flat however many requests there are. CloudWatch extracts the metrics from the function's logs, which takes no API calls. A
+ * line holds one set of dimension values, so each flush writes one line per route that had requests, stamped
+ * with the time the aggregate started.
+ * <p>
+ * Recording takes a shared lock and replacing the aggregate an exclusive one, so a request recorded while an
+ * aggregate is being replaced is counted in exactly one of the two.
+ */
+public final class RouteMetrics {
+
+    /**
+     * Default namespace of the published metrics.
+     */
+    public static final String DEFAULT_NAMESPACE = "ItemsApi";
+
+    /**
+     * Default age at which an aggregate is written out.
+     */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+
+    /**
+     * Route recorded for requests that matched no route, so that arbitrary paths do not become dimensions.
+     */
+    public static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private static final int INITIAL_BUFFER_CHARS = 1024;
+    private static final String[] STATUS_CLASSES = {"Status2xx", "Status3xx", "Status4xx", "Status5xx"};
+
+    private final Logger logger;
+    private final String namespace;
+    private final long maxAgeNanos;
+    private final LongSupplier clock;
+    private final LongSupplier wallClock;
+    private final AtomicReference<Window> window;
+    private final StampedLock windowLock = new StampedLock();
+
+    /**
+     * @param maxAge how long requests are aggregated before they are written out; zero writes them out after
+     *               every request
+     */
+    public RouteMetrics(String namespace, Duration maxAge) {
+        this(LoggerFactory.getLogger(RouteMetrics.class), namespace, maxAge, System::nanoTime,
+                System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock the time source for the maximum age, in nanoseconds
+     * @param wallClock the time source for the timestamps of the published metrics, in epoch milliseconds, read
+     *                  when each aggregate starts
+     */
+    public RouteMetrics(Logger logger, String namespace, Duration maxAge, LongSupplier clock, LongSupplier wallClock) {
+        if (maxAge.isNegative()) {
+            throw new IllegalArgumentException("Maximum age must not be negative");
+        }
+        this.logger = logger;
+        this.namespace = namespace;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.clock = clock;
+        this.wallClock = wallClock;
+        this.window = new AtomicReference<>(newWindow());
+    }
+
+    /**
+     * Creates metrics configured by {@code METRICS_NAMESPACE} (default {@code ItemsApi}) and
+     * {@code METRICS_MAX_AGE_SECONDS} (default 60).
+     */
+    public static RouteMetrics fromEnvironment() {
+        String namespace = System.getenv("METRICS_NAMESPACE");
+        String maxAge = System.getenv("METRICS_MAX_AGE_SECONDS");
+        try {
+            return new RouteMetrics(
+                    namespace == null || namespace.isBlank() ? DEFAULT_NAMESPACE : namespace.trim(),
+                    maxAge == null || maxAge.isBlank()
+                            ? DEFAULT_MAX_AGE
+                            : Duration.ofSeconds(Long.parseLong(maxAge.trim())));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("METRICS_MAX_AGE_SECONDS must be a number: " + maxAge, e);
+        }
+    }
+
+    /**
+     * Records a request, and writes it out at once if the maximum age is zero.
+     *
+     * @param route the route, such as {@code GET /items/{itemId}}, or {@link #UNMATCHED_ROUTE}
+     */
+    public void record(String route, int status, long latencyNanos, long requestBytes, long responseBytes) {
+        long stamp = windowLock.readLock();
+        try {
+            Window current = window.get();
+            RouteStats stats = current.routes.get(route);
+            if (stats == null) {
+                stats = current.routes.computeIfAbsent(route, r -> new RouteStats());
+            }
+            stats.record(status, latencyNanos, requestBytes, responseBytes);
+        } finally {
+            windowLock.unlockRead(stamp);
+        }
+        if (maxAgeNanos == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes out the aggregate if it has reached the maximum age.
+     */
+    public void flushIfDue() {
+        Window current = window.get();
+        if (clock.getAsLong() - current.start >= maxAgeNanos) {
+            flush(current);
+        }
+    }
+
+    /**
+     * Writes out the aggregate, if it has any requests, and starts a new one.
+     */
+    public void flush() {
+        flush(window.get());
+    }
+
+    /**
+     * Discards the aggregate, such as the requests made while priming a SnapStart snapshot, and starts a new
+     * one.
+     */
+    public void reset() {
+        long stamp = windowLock.writeLock();
+        try {
+            window.set(newWindow());
+        } finally {
+            windowLock.unlockWrite(stamp);
+        }
+    }
+
+    private void flush(Window current) {
+        // Only the caller that replaces the window writes it out, once no request is still recording into it
+        long stamp = windowLock.writeLock();
+        try {
+            if (!window.compareAndSet(current, newWindow())) {
+                return;
+            }
+        } finally {
+            windowLock.unlockWrite(stamp);
+        }
+        if (current.routes.isEmpty()) {
+            return;
+        }
+        long timestamp = current.startMillis;
+        StringBuilder line = new StringBuilder(INITIAL_BUFFER_CHARS);
+        for (Map.Entry<String, RouteStats> entry : current.routes.entrySet()) {
+            line.setLength(0);
+            entry.getValue().writeTo(line, namespace, entry.getKey(), timestamp);
+            logger.info(line.toString());
+        }
+    }
+
+    private Window newWindow() {
+        return new Window(clock.getAsLong(), wallClock.getAsLong());
+    }
+
+    private static final class Window {
+        final long start;
+        final long startMillis;
+        final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+        /**
+         * @param start the time the window started, from the monotonic clock
+         * @param startMillis the same time in epoch milliseconds, which the window's metrics are stamped with
+         */
+        Window(long start, long startMillis) {
+            this.start = start;
+            this.startMillis = startMillis;
+        }
+    }
+
+    private static final class RouteStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder[] statusClasses = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+        final Statistics latencyMicros = new Statistics();
+        final Statistics requestBytes = new Statistics();
+        final Statistics responseBytes = new Statistics();
+
+        void record(int status, long latencyNanos, long requestSize, long responseSize) {
+            requests.increment();
+            int statusClass = status / 100 - 2;
+            if (statusClass >= 0 && statusClass < statusClasses.length) {
+                statusClasses[statusClass].increment();
+            }
+            latencyMicros.add(Math.max(latencyNanos, 0) / 1000);
+            requestBytes.add(requestSize);
+            responseBytes.add(responseSize);
+        }
+
+        void writeTo(StringBuilder line, String namespace, String route, long timestamp) {
+            line.append("{\"_aws\":{\"Timestamp\":").append(timestamp)
+                    .append(",\"CloudWatchMetrics\":[{\"Namespace\":");
+            appendString(line, namespace);
+            line.append(",\"Dimensions\":[[\"Route\"]],\"Metrics\":[{\"Name\":\"Requests\",\"Unit\":\"Count\"}");
+            for (String statusClass : STATUS_CLASSES) {
+                line.append(",{\"Name\":\"").append(statusClass).append("\",\"Unit\":\"Count\"}");
+            }
+            line.append(",{\"Name\":\"Latency\",\"Unit\":\"Milliseconds\"}")
+                    .append(",{\"Name\":\"RequestSize\",\"Unit\":\"Bytes\"}")
+                    .append(",{\"Name\":\"ResponseSize\",\"Unit\":\"Bytes\"}]}]}");
+            line.append(",\"Route\":");
+            appendString(line, route);
+            line.append(",\"Requests\":").append(requests.sum());
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                line.append(",\"").append(STATUS_CLASSES[i]).append("\":").append(statusClasses[i].sum());
+            }
+            line.append(",\"Latency\":");
+            latencyMicros.writeTo(line, 1000);
+            line.append(",\"RequestSize\":");
+            requestBytes.writeTo(line, 1);
+            line.append(",\"ResponseSize\":");
+            responseBytes.writeTo(line, 1);
+            line.append('}');
+        }
+    }
+
+    /**
+     * Minimum, maximum, sum and count of a series of non-negative values, written as an EMF statistic set.
+     */
+    private static final class Statistics {
+        final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        final LongAdder sum = new LongAdder();
+        final LongAdder count = new LongAdder();
+
+        void add(long value) {
+            min.accumulate(value);
+            max.accumulate(value);
+            sum.add(value);
+            count.increment();
+        }
+
+        /**
+         * @param divisor converts the recorded values to the published unit
+         */
+        void writeTo(StringBuilder line, long divisor) {
+            long samples = count.sum();
+            line.append("{\"Min\":");
+            appendValue(line, samples > 0 ? min.get() : 0, divisor);
+            line.append(",\"Max\":");
+            appendValue(line, samples > 0 ? max.get() : 0, divisor);
+            line.append(",\"Sum\":");
+            appendValue(line, sum.sum(), divisor);
+            line.append(",\"Count\":").append(samples);
+            line.append('}');
+        }
+
+        private static void appendValue(StringBuilder line, long value, long divisor) {
+            if (divisor == 1) {
+                line.append(value);
+            } else {
+                line.append((double) value / divisor);
+            }
+        }
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\');
+            }
+            line.append(c >= 0x20 ? c : ' ');
+        }
+        line.append('"');
+    }
+}
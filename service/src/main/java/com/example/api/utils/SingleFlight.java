@@ -0,0 +1,66 @@
+package com.example.api.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: while a load for a key is in flight, other callers for that key
+ * share its result or failure instead of starting their own.
+ * <p>
+ * Claiming a key is a single compare-and-set on a concurrent map, so uncontended calls take no locks. Loads
+ * are not cached; once a load completes, the next call for the key starts a new one.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Starts the load for the key, or joins the load already in flight for it.
+     *
+     * @return a future completed with the result of the shared load; cancelling it does not affect other callers
+     */
+    public CompletableFuture<V> load(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> existing = inFlight.get(key);
+        if (existing == null) {
+            CompletableFuture<V> own = new CompletableFuture<>();
+            existing = inFlight.putIfAbsent(key, own);
+            if (existing == null) {
+                start(key, own, loader);
+                return own.copy();
+            }
+        }
+        coalesced.increment();
+        return existing.copy();
+    }
+
+    /**
+     * Returns the number of calls that shared another caller's load.
+     */
+    public long coalescedCalls() {
+        return coalesced.sum();
+    }
+
+    private void start(K key, CompletableFuture<V> own, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException | Error e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((value, failure) -> {
+            inFlight.remove(key, own);
+            if (failure != null) {
+                own.completeExceptionally(failure);
+            } else {
+                own.complete(value);
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.api.utils;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded, thread-safe cache whose entries expire a fixed time after they were written.
+ * <p>
+ * When full, the least recently used entry is evicted. Expired entries are dropped when they are next read or
+ * when they reach the least recently used end. Hits, misses, evictions and expirations are counted.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class TtlCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Map<K, Entry<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public TtlCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param clock the time source, in nanoseconds
+     */
+    public TtlCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries < 1 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value, or null if there is none or it has expired.
+     */
+    public V get(K key) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && now - entry.writtenAt() < ttlNanos) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(K key, V value) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, now));
+            if (entries.size() > maxEntries) {
+                Iterator<Entry<V>> eldest = entries.values().iterator();
+                Entry<V> removed = eldest.next();
+                eldest.remove();
+                if (now - removed.writtenAt() < ttlNanos) {
+                    evictions.increment();
+                } else {
+                    expirations.increment();
+                }
+            }
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Returns the number of entries held, including expired entries not yet dropped.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size());
+    }
+
+    private record Entry<V>(V value, long writtenAt) {
+    }
+
+    /**
+     * Cumulative counters of a cache.
+     *
+     * @param evictions entries removed to make room for newer ones
+     * @param expirations entries dropped because their TTL had passed
+     */
+    public record Stats(long hits, long misses, long evictions, long expirations, int size) {
+    }
+}
@@ -3,19 +3,25 @@ package com.example.api;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.utils.JsonCodec;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 class ApiHandlerTest {
     
     private ApiHandler apiHandler;
+    private ApiHandler itemsHandler;
     
     @Mock
     private Context context;
@@ -26,6 +32,7 @@ class ApiHandlerTest {
         
         // Create test instance
         apiHandler = new ApiHandler();
+        itemsHandler = new ApiHandler(InMemoryApplicationContext.create());
     }
 
     @Test
@@ -89,4 +96,156 @@ class ApiHandlerTest {
         // Assert
         assertEquals(404, response.getStatusCode());
     }
+
+    @Test
+    void testGetItemNotModifiedKeepsGzipETag() {
+        // Arrange: a description long enough for the response to be compressed
+        String id = createItem("Compressible", "x".repeat(4000));
+        APIGatewayProxyRequestEvent get = itemsRequest("GET", "/items/" + id, null);
+        get.getHeaders().put("Accept-Encoding", "gzip");
+        APIGatewayProxyResponseEvent full = itemsHandler.handleRequest(get, context);
+        String etag = full.getHeaders().get("ETag");
+
+        APIGatewayProxyRequestEvent conditional = itemsRequest("GET", "/items/" + id, null);
+        conditional.getHeaders().put("Accept-Encoding", "gzip");
+        conditional.getHeaders().put("If-None-Match", etag);
+        String plainEtag = etag.replace("-gzip", "");
+        APIGatewayProxyRequestEvent uncompressed = itemsRequest("GET", "/items/" + id, null);
+        uncompressed.getHeaders().put("If-None-Match", plainEtag);
+
+        // Act
+        APIGatewayProxyResponseEvent notModified = itemsHandler.handleRequest(conditional, context);
+        APIGatewayProxyResponseEvent notModifiedPlain = itemsHandler.handleRequest(uncompressed, context);
+
+        // Assert
+        assertEquals(200, full.getStatusCode());
+        assertEquals("gzip", full.getHeaders().get("Content-Encoding"));
+        assertTrue(etag.endsWith("-gzip\""), etag);
+        assertEquals(304, notModified.getStatusCode());
+        assertNull(notModified.getBody());
+        assertEquals(etag, notModified.getHeaders().get("ETag"));
+        assertEquals(full.getHeaders().get("Last-Modified"), notModified.getHeaders().get("Last-Modified"));
+        assertNull(notModified.getHeaders().get("Content-Encoding"));
+        assertEquals(304, notModifiedPlain.getStatusCode());
+        assertEquals(plainEtag, notModifiedPlain.getHeaders().get("ETag"));
+    }
+
+    @Test
+    void testListItemsNotModified() {
+        // Arrange
+        createItem("Listed", null);
+        APIGatewayProxyResponseEvent full = itemsHandler.handleRequest(itemsRequest("GET", "/items", null), context);
+        APIGatewayProxyRequestEvent conditional = itemsRequest("GET", "/items", null);
+        conditional.getHeaders().put("If-None-Match", full.getHeaders().get("ETag"));
+
+        // Act
+        APIGatewayProxyResponseEvent response = itemsHandler.handleRequest(conditional, context);
+
+        // Assert
+        assertEquals(304, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(full.getHeaders().get("ETag"), response.getHeaders().get("ETag"));
+    }
+
+    @Test
+    void testInvalidFieldsReturnsBadRequest() {
+        // Arrange
+        APIGatewayProxyRequestEvent request = itemsRequest("GET", "/items", null);
+        request.setQueryStringParameters(Map.of("fields", "name,colour"));
+
+        // Act
+        APIGatewayProxyResponseEvent response = itemsHandler.handleRequest(request, context);
+
+        // Assert
+        assertEquals(400, response.getStatusCode());
+        assertEquals("application/json", response.getHeaders().get("Content-Type"));
+        assertEquals("{\"code\":\"BAD_REQUEST\",\"message\":\"Unknown field 'colour'\"}", response.getBody());
+    }
+
+    @Test
+    void testListItemsReturnsNextTokenHeader() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            createItem("Item " + i, null);
+        }
+        APIGatewayProxyRequestEvent first = itemsRequest("GET", "/items", null);
+        first.setQueryStringParameters(Map.of("limit", "2"));
+
+        // Act
+        APIGatewayProxyResponseEvent firstPage = itemsHandler.handleRequest(first, context);
+        String nextToken = firstPage.getHeaders().get("X-Next-Token");
+        APIGatewayProxyRequestEvent second = itemsRequest("GET", "/items", null);
+        second.setQueryStringParameters(Map.of("limit", "2", "nextToken", nextToken));
+        APIGatewayProxyResponseEvent secondPage = itemsHandler.handleRequest(second, context);
+
+        // Assert
+        assertEquals(200, firstPage.getStatusCode());
+        assertEquals(2, readTree(firstPage.getBody()).size());
+        assertNotNull(nextToken);
+        assertTrue(firstPage.getHeaders().get("Access-Control-Expose-Headers").contains("X-Next-Token"));
+        assertEquals(200, secondPage.getStatusCode());
+        assertEquals(1, readTree(secondPage.getBody()).size());
+        assertNull(secondPage.getHeaders().get("X-Next-Token"));
+    }
+
+    @Test
+    void testBatchRequestsOverTheLimitReturnBadRequest() {
+        // Arrange
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= 500; i++) {
+            ids.add("\"item-" + i + "\"");
+        }
+        String tooManyIds = "{\"ids\":[" + String.join(",", ids) + "]}";
+        String tooManyItems = "{\"items\":[" + String.join(",", Collections.nCopies(501, "{\"name\":\"n\"}")) + "]}";
+
+        // Act
+        APIGatewayProxyResponseEvent batchGet =
+                itemsHandler.handleRequest(itemsRequest("POST", "/items/batch-get", tooManyIds), context);
+        APIGatewayProxyResponseEvent batchDelete =
+                itemsHandler.handleRequest(itemsRequest("POST", "/items/batch-delete", tooManyIds), context);
+        APIGatewayProxyResponseEvent batchCreate =
+                itemsHandler.handleRequest(itemsRequest("POST", "/items/batch", tooManyItems), context);
+        APIGatewayProxyResponseEvent emptyGet =
+                itemsHandler.handleRequest(itemsRequest("POST", "/items/batch-get", "{\"ids\":[]}"), context);
+
+        // Assert
+        assertBadRequest(batchGet, "At most 500 ids can be requested at once");
+        assertBadRequest(batchDelete, "At most 500 ids can be deleted at once");
+        assertBadRequest(batchCreate, "At most 500 items can be created at once");
+        assertBadRequest(emptyGet, "ids is required");
+    }
+
+    private String createItem(String name, String description) {
+        String body = "{\"name\":\"" + name + "\""
+                + (description != null ? ",\"description\":\"" + description + "\"" : "") + "}";
+        APIGatewayProxyResponseEvent response =
+                itemsHandler.handleRequest(itemsRequest("POST", "/items", body), context);
+        assertEquals(201, response.getStatusCode());
+        return readTree(response.getBody()).get("id").asText();
+    }
+
+    private static APIGatewayProxyRequestEvent itemsRequest(String method, String path, String body) {
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+        request.setHttpMethod(method);
+        request.setPath(path);
+        request.setBody(body);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", "Bearer valid-token");
+        request.setHeaders(headers);
+        return request;
+    }
+
+    private static void assertBadRequest(APIGatewayProxyResponseEvent response, String message) {
+        assertEquals(400, response.getStatusCode());
+        assertEquals("application/json", response.getHeaders().get("Content-Type"));
+        assertEquals(message, readTree(response.getBody()).get("message").asText());
+    }
+
+    private static JsonNode readTree(String json) {
+        try {
+            return JsonCodec.shared().mapper().readTree(json);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
 }
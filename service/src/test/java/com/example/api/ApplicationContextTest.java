@@ -0,0 +1,60 @@
+package com.example.api;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ApplicationContextTest {
+
+    private AtomicInteger clientsCreated;
+    private ApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        clientsCreated = new AtomicInteger();
+        context = new ApplicationContext("test-table", () -> {
+            clientsCreated.incrementAndGet();
+            return mock(DynamoDbAsyncClient.class);
+        });
+    }
+
+    @Test
+    void itemService_IsCreatedOnceAndShared() {
+        // Act
+        ItemService first = context.itemService();
+        ItemService second = context.itemService();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, clientsCreated.get());
+        assertTrue(context.initTimings().containsKey("DynamoDbAsyncClient"));
+        assertTrue(context.initTimings().containsKey("DynamoDbEnhancedAsyncClient"));
+        assertTrue(context.initTimings().containsKey("ItemService"));
+    }
+
+    @Test
+    void publicRoute_DoesNotInitializeDynamoDb() {
+        // Arrange
+        ApiHandler apiHandler = new ApiHandler(context);
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent();
+        request.setPath("/public");
+        request.setHttpMethod("GET");
+
+        // Act
+        APIGatewayProxyResponseEvent response = apiHandler.handleRequest(request, mock(Context.class));
+
+        // Assert
+        assertEquals(200, response.getStatusCode());
+        assertEquals(0, clientsCreated.get());
+        assertTrue(context.initTimings().containsKey("GET /public"));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.api;
+
+import com.example.api.data.InMemoryDynamoDbClient;
+
+/**
+ * Creates application contexts backed by an {@link InMemoryDynamoDbClient}, for tests and benchmarks.
+ */
+public final class InMemoryApplicationContext {
+
+    private InMemoryApplicationContext() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static ApplicationContext create() {
+        return new ApplicationContext("in-memory-items", () -> new InMemoryDynamoDbClient().async());
+    }
+}
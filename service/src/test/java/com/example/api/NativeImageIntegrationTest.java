@@ -0,0 +1,110 @@
+package com.example.api;
+
+import com.example.api.runtime.RuntimeApiEmulator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test for the native executable built by the {@code native} profile.
+ * <p>
+ * Starts the executable against {@link RuntimeApiEmulator}, sends it proxy events and checks the responses it
+ * posts back. DynamoDB calls go through the Netty client to a local stub, so that the transport's reachability
+ * metadata is exercised too. Runs only when {@code native.image.path} points at the executable.
+ */
+@EnabledIfSystemProperty(named = "native.image.path", matches = ".+")
+class NativeImageIntegrationTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RuntimeApiEmulator runtimeApi;
+    private HttpServer dynamoDb;
+    private Process process;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        runtimeApi = new RuntimeApiEmulator().start();
+        dynamoDb = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        dynamoDb.createContext("/", NativeImageIntegrationTest::answerDynamoDb);
+        dynamoDb.start();
+
+        ProcessBuilder builder = new ProcessBuilder(System.getProperty("native.image.path"));
+        builder.environment().put("AWS_LAMBDA_RUNTIME_API", runtimeApi.address());
+        builder.environment().put("TABLE_NAME", "native-smoke-test");
+        builder.environment().put("AWS_REGION", "us-east-1");
+        builder.environment().put("DYNAMODB_ENDPOINT", "http://127.0.0.1:" + dynamoDb.getAddress().getPort());
+        builder.environment().put("AWS_ACCESS_KEY_ID", "native-smoke-test");
+        builder.environment().put("AWS_SECRET_ACCESS_KEY", "native-smoke-test");
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        process = builder.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+        runtimeApi.close();
+        dynamoDb.stop(0);
+    }
+
+    @Test
+    void publicEndpoint_ReturnsOk() throws Exception {
+        JsonNode response = invoke("{\"httpMethod\":\"GET\",\"path\":\"/public\",\"headers\":{}}");
+
+        assertEquals(200, response.get("statusCode").asInt());
+        assertTrue(response.get("body").asText().contains("public data"));
+    }
+
+    @Test
+    void unknownRoute_ReturnsNotFound() throws Exception {
+        JsonNode response = invoke("{\"httpMethod\":\"GET\",\"path\":\"/nonexistent\","
+                + "\"headers\":{\"Authorization\":\"Bearer test-token\"}}");
+
+        assertEquals(404, response.get("statusCode").asInt());
+    }
+
+    @Test
+    void itemRoute_CallsDynamoDbThroughNetty() throws Exception {
+        JsonNode response = invoke("{\"httpMethod\":\"GET\",\"path\":\"/items/missing-item\","
+                + "\"headers\":{\"Authorization\":\"Bearer test-token\"}}");
+
+        assertEquals(404, response.get("statusCode").asInt());
+    }
+
+    /**
+     * Answers every DynamoDB call as if the table were empty.
+     */
+    private static void answerDynamoDb(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String target = exchange.getRequestHeaders().getFirst("X-Amz-Target");
+        byte[] body = (target != null && target.endsWith(".GetItem") ? "{}" : "{\"Items\":[],\"Count\":0}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/x-amz-json-1.0");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private JsonNode invoke(String event) throws Exception {
+        RuntimeApiEmulator.InvocationResult result = runtimeApi.invoke(event.getBytes(StandardCharsets.UTF_8))
+                .get(30, TimeUnit.SECONDS);
+        assertFalse(result.error(), () -> "Invocation error: " + new String(result.payload(), StandardCharsets.UTF_8));
+        return objectMapper.readTree(result.payload());
+    }
+}
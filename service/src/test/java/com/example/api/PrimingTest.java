@@ -0,0 +1,57 @@
+package com.example.api;
+
+import com.example.api.Priming.PrimedRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimingTest {
+
+    @Test
+    void run_ReplaysEveryRouteAgainstPrimingStore() {
+        // Arrange
+        ApiHandler handler = new ApiHandler(ApplicationContext.forPriming());
+
+        // Act
+        List<PrimedRequest> replayed = Priming.run(handler);
+
+        // Assert
+        assertEquals(14, replayed.size());
+        assertEquals(200, status(replayed, "GET", "/public", false));
+        assertEquals(200, status(replayed, "GET", "/protected", true));
+        assertEquals(401, status(replayed, "GET", "/protected", false));
+        assertEquals(404, status(replayed, "GET", "/nonexistent", true));
+        assertEquals(201, status(replayed, "POST", "/items", true));
+        assertEquals(List.of(200, 200), statuses(replayed, "GET", "/items", true));
+        assertEquals(200, status(replayed, "POST", "/items/batch-get", true));
+        assertEquals(200, status(replayed, "POST", "/items/batch", true));
+        assertEquals(200, status(replayed, "POST", "/items/batch-delete", true));
+
+        // The item routes are replayed against the item created while priming
+        String itemPath = replayed.stream()
+                .filter(r -> r.method().equals("PUT"))
+                .findFirst()
+                .orElseThrow()
+                .path();
+        assertEquals(200, status(replayed, "PUT", itemPath, true));
+        assertEquals(204, status(replayed, "DELETE", itemPath, true));
+        assertEquals(List.of(200, 404), statuses(replayed, "GET", itemPath, true));
+    }
+
+    private static int status(List<PrimedRequest> replayed, String method, String path, boolean authenticated) {
+        return statuses(replayed, method, path, authenticated).get(0);
+    }
+
+    /**
+     * Returns the status codes of every replay of a request, in replay order.
+     */
+    private static List<Integer> statuses(List<PrimedRequest> replayed, String method, String path,
+                                          boolean authenticated) {
+        return replayed.stream()
+                .filter(r -> r.method().equals(method) && r.path().equals(path) && r.authenticated() == authenticated)
+                .map(PrimedRequest::statusCode)
+                .toList();
+    }
+}
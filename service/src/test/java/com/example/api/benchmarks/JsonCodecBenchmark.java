@@ -0,0 +1,123 @@
+package com.example.api.benchmarks;
+
+import com.example.api.model.Item;
+import com.example.api.model.NewItem;
+import com.example.api.utils.JsonCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the shared {@link JsonCodec} with the previous setup, in which every handler created its own
+ * {@link ObjectMapper} and called {@code writeValueAsString}/{@code readValue} on it.
+ * <p>
+ * The codec's {@code *WithCodec} paths use the streaming codecs generated from {@code openapi.yaml};
+ * {@code writeItemWithCodecDatabind} measures the codec's shared, Blackbird-enabled mapper for comparison.
+ * <p>
+ * The previous mappers did not register the Java time module and so could not write an {@link Item} at all;
+ * the baseline here registers it, which is the least any working version of that setup would do.
+ * {@code firstRequest*} measure the one-off cost a cold mapper adds to the first request that uses it, which
+ * the old setup paid once per handler.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=JsonCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private static final String NEW_ITEM = "{\"name\":\"Benchmark item\",\"description\":\"Created by the benchmark\"}";
+
+    private JsonCodec codec;
+    private ObjectMapper perHandlerMapper;
+    private Item item;
+    private List<Item> page;
+
+    @Setup
+    public void setUp() {
+        codec = JsonCodec.shared();
+        perHandlerMapper = newPerHandlerMapper();
+
+        OffsetDateTime now = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        item = new Item("123e4567-e89b-12d3-a456-426614174000", "Benchmark item", "Created by the benchmark",
+                now, now);
+        page = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            page.add(new Item("item-" + i, "Item " + i, "Description " + i, now.plusMinutes(i), now.plusMinutes(i)));
+        }
+    }
+
+    @Benchmark
+    public String writeItemWithCodec() throws Exception {
+        return codec.write(item, codec.itemWriter());
+    }
+
+    @Benchmark
+    public String writeItemWithMapper() throws Exception {
+        return perHandlerMapper.writeValueAsString(item);
+    }
+
+    @Benchmark
+    public String writePageWithCodec() throws Exception {
+        return codec.write(page, codec.itemListWriter());
+    }
+
+    @Benchmark
+    public String writePageWithMapper() throws Exception {
+        return perHandlerMapper.writeValueAsString(page);
+    }
+
+    @Benchmark
+    public NewItem readNewItemWithCodec() throws Exception {
+        return codec.read(NEW_ITEM, codec.newItemReader());
+    }
+
+    @Benchmark
+    public NewItem readNewItemWithMapper() throws Exception {
+        return perHandlerMapper.readValue(NEW_ITEM, NewItem.class);
+    }
+
+    @Benchmark
+    public String writeItemWithCodecDatabind() throws Exception {
+        return codec.writerFor(Item.class).writeValueAsString(item);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 20)
+    @Fork(5)
+    public String firstRequestWithCodec() throws Exception {
+        return JsonCodec.shared().write(item);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Measurement(iterations = 20)
+    @Fork(5)
+    public String firstRequestWithNewMapper() throws Exception {
+        return newPerHandlerMapper().writeValueAsString(item);
+    }
+
+    private static ObjectMapper newPerHandlerMapper() {
+        return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+}
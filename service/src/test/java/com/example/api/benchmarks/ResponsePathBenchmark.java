@@ -0,0 +1,81 @@
+package com.example.api.benchmarks;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.example.api.ApiHandler;
+import com.example.api.InMemoryApplicationContext;
+import com.example.api.model.Item;
+import com.example.api.model.NewItem;
+import com.example.api.utils.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full request path of {@link ApiHandler} for item reads against an in-memory store, from routing
+ * to the serialized response, in time and, with the {@code gc} profiler, in bytes allocated per request.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=ResponsePathBenchmark -Djmh.args="-prof gc"}
+ * and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponsePathBenchmark {
+
+    private static final Map<String, String> HEADERS = Map.of("Authorization", "Bearer benchmark-token");
+
+    private ApiHandler handler;
+    private APIGatewayProxyRequestEvent getItem;
+    private APIGatewayProxyRequestEvent listItems;
+    private APIGatewayProxyRequestEvent unknownRoute;
+
+    @Setup
+    public void setUp() throws Exception {
+        handler = new ApiHandler(InMemoryApplicationContext.create());
+        String id = null;
+        for (int i = 0; i < 20; i++) {
+            APIGatewayProxyResponseEvent created = handler.handleRequest(request("POST", "/items")
+                    .withBody(JsonCodec.shared().write(new NewItem("Item " + i, "Description of item " + i))), null);
+            id = JsonCodec.shared().read(created.getBody(), Item.class).id();
+        }
+        getItem = request("GET", "/items/" + id);
+        listItems = request("GET", "/items").withQueryStringParameters(Map.of("limit", "10"));
+        unknownRoute = request("GET", "/nonexistent");
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent getItem() {
+        return handler.handleRequest(getItem, null);
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent listItems() {
+        return handler.handleRequest(listItems, null);
+    }
+
+    @Benchmark
+    public APIGatewayProxyResponseEvent unknownRoute() {
+        return handler.handleRequest(unknownRoute, null);
+    }
+
+    private static APIGatewayProxyRequestEvent request(String method, String path) {
+        return new APIGatewayProxyRequestEvent()
+                .withHttpMethod(method)
+                .withPath(path)
+                .withHeaders(HEADERS);
+    }
+}
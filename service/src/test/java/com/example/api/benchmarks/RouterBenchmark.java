@@ -0,0 +1,116 @@
+package com.example.api.benchmarks;
+
+import com.example.api.routing.RouteMatch;
+import com.example.api.routing.Router;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the segment-trie {@link Router} with the previous HashMap + regex route matcher.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=RouterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouterBenchmark {
+
+    private static final String[][] ROUTES = {
+            {"GET", "/public"},
+            {"GET", "/protected"},
+            {"GET", "/items"},
+            {"POST", "/items"},
+            {"GET", "/items/{itemId}"},
+            {"PUT", "/items/{itemId}"},
+            {"DELETE", "/items/{itemId}"},
+    };
+
+    @Param({"GET /public", "GET /items", "GET /items/123e4567-e89b-12d3-a456-426614174000",
+            "DELETE /items/123e4567-e89b-12d3-a456-426614174000", "GET /nonexistent"})
+    public String request;
+
+    private String method;
+    private String path;
+    private Router<String> router;
+    private LegacyMatcher legacyMatcher;
+
+    @Setup
+    public void setUp() {
+        int space = request.indexOf(' ');
+        method = request.substring(0, space);
+        path = request.substring(space + 1);
+
+        router = new Router<>();
+        legacyMatcher = new LegacyMatcher();
+        for (String[] route : ROUTES) {
+            router.add(route[0], route[1], route[0] + " " + route[1]);
+            legacyMatcher.add(route[0], route[1], route[0] + " " + route[1]);
+        }
+    }
+
+    @Benchmark
+    public RouteMatch<String> trieRouter() {
+        return router.match(method, path);
+    }
+
+    @Benchmark
+    public Object legacyMatcher() {
+        // The legacy handlers re-parsed the path to find the item id, so include that work here too
+        String target = legacyMatcher.find(method, path);
+        if (target != null && target.endsWith("{itemId}")) {
+            String[] parts = path.split("/");
+            return parts[parts.length - 1];
+        }
+        return target;
+    }
+
+    /**
+     * Copy of the route matching that ApiHandler used before the trie router.
+     */
+    static final class LegacyMatcher {
+        private final Map<RouteKey, String> handlers = new HashMap<>();
+
+        void add(String method, String path, String target) {
+            handlers.put(new RouteKey(method, path), target);
+        }
+
+        String find(String method, String path) {
+            RouteKey exactKey = new RouteKey(method, path);
+            if (handlers.containsKey(exactKey)) {
+                return handlers.get(exactKey);
+            }
+            for (Map.Entry<RouteKey, String> entry : handlers.entrySet()) {
+                RouteKey key = entry.getKey();
+                if (key.method.equals(method) && pathMatches(key.path, path)) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+
+        private boolean pathMatches(String pattern, String path) {
+            String regex = pattern.replaceAll("\\{[^/]+\\}", "[^/]+");
+            return Pattern.compile("^" + regex + "$").matcher(path).matches();
+        }
+
+        private record RouteKey(String method, String path) {
+        }
+    }
+}
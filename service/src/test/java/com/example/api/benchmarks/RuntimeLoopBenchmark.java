@@ -0,0 +1,71 @@
+package com.example.api.benchmarks;
+
+import com.example.api.ApiHandler;
+import com.example.api.InMemoryApplicationContext;
+import com.example.api.runtime.LambdaRuntime;
+import com.example.api.runtime.RuntimeApiEmulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end per-invocation overhead of {@link LambdaRuntime}: the long-poll, event decoding, handler
+ * dispatch, response encoding and the response post, against the in-JVM {@link RuntimeApiEmulator} and an
+ * in-memory store.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.include=RuntimeLoopBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuntimeLoopBenchmark {
+
+    @Param({"/public", "/items"})
+    public String path;
+
+    private RuntimeApiEmulator emulator;
+    private LambdaRuntime runtime;
+    private byte[] event;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        emulator = new RuntimeApiEmulator().start();
+        runtime = new LambdaRuntime(emulator.address(), () -> new ApiHandler(InMemoryApplicationContext.create()));
+        Thread thread = new Thread(runtime::run, "lambda-runtime-benchmark");
+        thread.setDaemon(true);
+        thread.start();
+
+        event = ("{\"version\":\"2.0\",\"rawPath\":\"" + path + "\",\"queryStringParameters\":{\"limit\":\"10\"},"
+                + "\"headers\":{\"authorization\":\"Bearer benchmark-token\"},"
+                + "\"requestContext\":{\"requestId\":\"benchmark\",\"http\":{\"method\":\"GET\"}}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        runtime.stop();
+        emulator.close();
+    }
+
+    @Benchmark
+    public RuntimeApiEmulator.InvocationResult invoke() throws Exception {
+        return emulator.invoke(event).get(10, TimeUnit.SECONDS);
+    }
+}
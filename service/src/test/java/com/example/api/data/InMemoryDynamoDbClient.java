@@ -0,0 +1,498 @@
+package com.example.api.data;
+
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.services.dynamodb.paginators.BatchGetItemIterable;
+import software.amazon.awssdk.services.dynamodb.paginators.QueryIterable;
+import software.amazon.awssdk.services.dynamodb.paginators.ScanIterable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory stand-in for DynamoDB, for tests and benchmarks without network access.
+ * <p>
+ * It supports the single-table operations issued by the enhanced client for {@link ItemEntity}: get, put,
+ * delete, batch get, batch write, scan, query and update. Update expressions are limited to
+ * {@code SET path = :value} and {@code REMOVE path} clauses, and condition expressions to
+ * {@code attribute_exists}/{@code attribute_not_exists} terms joined with {@code AND}. Queries support string
+ * keys on the table or on a registered secondary index, with the comparison, {@code BETWEEN} and
+ * {@code begins_with} sort key conditions. Reads honour projection expressions that list top-level attributes.
+ * Items are kept in key order so scans page deterministically; parallel scan segments split them by key hash.
+ * {@link #async()} exposes the same store to the enhanced async client.
+ */
+public class InMemoryDynamoDbClient implements DynamoDbClient {
+    private static final Pattern KEY_CONDITION = Pattern.compile(
+            "^\\s*(?:begins_with\\(\\s*(\\S+)\\s*,\\s*(\\S+)\\s*\\)"
+                    + "|(\\S+)\\s+BETWEEN\\s+(\\S+)\\s+AND\\s+(\\S+)"
+                    + "|(\\S+)\\s*(=|<=|>=|<|>)\\s*(\\S+))\\s*(?:AND\\b|$)",
+            Pattern.CASE_INSENSITIVE);
+
+    private final String partitionKey;
+    private final Map<String, IndexKeys> indexes = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<String, Map<String, AttributeValue>>> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a client whose tables are keyed by the {@code id} attribute and carry the {@code gsi1} index,
+     * matching {@link ItemEntity}.
+     */
+    public InMemoryDynamoDbClient() {
+        this("id");
+        withIndex(ItemEntity.CREATED_AT_INDEX, "gsi1pk", "gsi1sk");
+    }
+
+    public InMemoryDynamoDbClient(String partitionKey) {
+        this.partitionKey = partitionKey;
+    }
+
+    /**
+     * Registers a secondary index with string partition and sort keys, available on every table.
+     */
+    public InMemoryDynamoDbClient withIndex(String indexName, String indexPartitionKey, String indexSortKey) {
+        indexes.put(indexName, new IndexKeys(indexPartitionKey, indexSortKey));
+        return this;
+    }
+
+    /**
+     * Returns an asynchronous client backed by this client's store.
+     */
+    public InMemoryDynamoDbAsyncClient async() {
+        return new InMemoryDynamoDbAsyncClient(this);
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+        tables.clear();
+    }
+
+    @Override
+    public GetItemResponse getItem(GetItemRequest request) {
+        Map<String, AttributeValue> item = table(request.tableName()).get(keyOf(request.key()));
+        return GetItemResponse.builder()
+                .item(project(item, request.projectionExpression(), request.expressionAttributeNames()))
+                .build();
+    }
+
+    /**
+     * Gets the requested items, enforcing DynamoDB's limit of 100 distinct keys per call. Every key is processed.
+     */
+    @Override
+    public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+        int keyCount = request.requestItems().values().stream().mapToInt(keys -> keys.keys().size()).sum();
+        if (keyCount > 100) {
+            throw new IllegalArgumentException("Too many items requested for the BatchGetItem call: " + keyCount);
+        }
+
+        Map<String, List<Map<String, AttributeValue>>> responses = new HashMap<>();
+        for (Map.Entry<String, KeysAndAttributes> entry : request.requestItems().entrySet()) {
+            NavigableMap<String, Map<String, AttributeValue>> table = table(entry.getKey());
+            List<Map<String, AttributeValue>> items = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (Map<String, AttributeValue> key : entry.getValue().keys()) {
+                String id = keyOf(key);
+                if (!seen.add(id)) {
+                    throw new IllegalArgumentException("Provided list of item keys contains duplicates");
+                }
+                Map<String, AttributeValue> item = table.get(id);
+                if (item != null) {
+                    items.add(project(item, entry.getValue().projectionExpression(),
+                            entry.getValue().expressionAttributeNames()));
+                }
+            }
+            responses.put(entry.getKey(), items);
+        }
+        return BatchGetItemResponse.builder()
+                .responses(responses)
+                .unprocessedKeys(Map.of())
+                .build();
+    }
+
+    @Override
+    public BatchGetItemIterable batchGetItemPaginator(BatchGetItemRequest request) {
+        return new BatchGetItemIterable(this, request);
+    }
+
+    /**
+     * Applies the requested puts and deletes, enforcing DynamoDB's limit of 25 writes to distinct keys per call.
+     * Every write is processed.
+     */
+    @Override
+    public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+        int writeCount = request.requestItems().values().stream().mapToInt(List::size).sum();
+        if (writeCount > 25) {
+            throw new IllegalArgumentException("Too many items requested for the BatchWriteItem call: " + writeCount);
+        }
+
+        for (Map.Entry<String, List<WriteRequest>> entry : request.requestItems().entrySet()) {
+            NavigableMap<String, Map<String, AttributeValue>> table = table(entry.getKey());
+            Set<String> seen = new HashSet<>();
+            for (WriteRequest write : entry.getValue()) {
+                String key = write.putRequest() != null
+                        ? keyOf(write.putRequest().item())
+                        : keyOf(write.deleteRequest().key());
+                if (!seen.add(key)) {
+                    throw new IllegalArgumentException("Provided list of item keys contains duplicates");
+                }
+            }
+            synchronized (table) {
+                for (WriteRequest write : entry.getValue()) {
+                    if (write.putRequest() != null) {
+                        Map<String, AttributeValue> item = write.putRequest().item();
+                        table.put(keyOf(item), Collections.unmodifiableMap(new HashMap<>(item)));
+                    } else {
+                        table.remove(keyOf(write.deleteRequest().key()));
+                    }
+                }
+            }
+        }
+        return BatchWriteItemResponse.builder()
+                .unprocessedItems(Map.of())
+                .build();
+    }
+
+    @Override
+    public PutItemResponse putItem(PutItemRequest request) {
+        NavigableMap<String, Map<String, AttributeValue>> table = table(request.tableName());
+        String key = keyOf(request.item());
+        synchronized (table) {
+            Map<String, AttributeValue> existing = table.get(key);
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(), existing);
+            table.put(key, Collections.unmodifiableMap(new HashMap<>(request.item())));
+            return PutItemResponse.builder()
+                    .attributes(request.returnValues() == ReturnValue.ALL_OLD ? existing : null)
+                    .build();
+        }
+    }
+
+    @Override
+    public DeleteItemResponse deleteItem(DeleteItemRequest request) {
+        NavigableMap<String, Map<String, AttributeValue>> table = table(request.tableName());
+        String key = keyOf(request.key());
+        synchronized (table) {
+            Map<String, AttributeValue> existing = table.get(key);
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(), existing);
+            table.remove(key);
+            return DeleteItemResponse.builder()
+                    .attributes(request.returnValues() == ReturnValue.ALL_OLD ? existing : null)
+                    .build();
+        }
+    }
+
+    @Override
+    public UpdateItemResponse updateItem(UpdateItemRequest request) {
+        NavigableMap<String, Map<String, AttributeValue>> table = table(request.tableName());
+        String key = keyOf(request.key());
+        synchronized (table) {
+            Map<String, AttributeValue> existing = table.get(key);
+            checkCondition(request.conditionExpression(), request.expressionAttributeNames(), existing);
+
+            Map<String, AttributeValue> updated = new HashMap<>(existing != null ? existing : request.key());
+            applyUpdate(request.updateExpression(), request.expressionAttributeNames(),
+                    request.expressionAttributeValues(), updated);
+            table.put(key, Collections.unmodifiableMap(updated));
+
+            Map<String, AttributeValue> returned = switch (request.returnValues() == null
+                    ? ReturnValue.NONE : request.returnValues()) {
+                case ALL_NEW -> updated;
+                case ALL_OLD -> existing;
+                default -> null;
+            };
+            return UpdateItemResponse.builder()
+                    .attributes(returned)
+                    .build();
+        }
+    }
+
+    @Override
+    public ScanResponse scan(ScanRequest request) {
+        NavigableMap<String, Map<String, AttributeValue>> table = table(request.tableName());
+        NavigableMap<String, Map<String, AttributeValue>> remaining = request.hasExclusiveStartKey()
+                ? table.tailMap(keyOf(request.exclusiveStartKey()), false)
+                : table;
+
+        int limit = request.limit() != null ? request.limit() : Integer.MAX_VALUE;
+        List<Map<String, AttributeValue>> items = new ArrayList<>();
+        String lastKey = null;
+        for (Map.Entry<String, Map<String, AttributeValue>> entry : remaining.entrySet()) {
+            if (items.size() == limit) {
+                break;
+            }
+            if (request.totalSegments() != null
+                    && Math.floorMod(entry.getKey().hashCode(), request.totalSegments()) != request.segment()) {
+                continue;
+            }
+            items.add(project(entry.getValue(), request.projectionExpression(), request.expressionAttributeNames()));
+            lastKey = entry.getKey();
+        }
+
+        ScanResponse.Builder response = ScanResponse.builder()
+                .items(items)
+                .count(items.size())
+                .scannedCount(items.size());
+        if (lastKey != null && remaining.higherKey(lastKey) != null) {
+            response.lastEvaluatedKey(Map.of(partitionKey, AttributeValue.builder().s(lastKey).build()));
+        }
+        return response.build();
+    }
+
+    @Override
+    public ScanIterable scanPaginator(ScanRequest request) {
+        return new ScanIterable(this, request);
+    }
+
+    @Override
+    public QueryResponse query(QueryRequest request) {
+        IndexKeys keys;
+        if (request.indexName() == null) {
+            keys = new IndexKeys(partitionKey, null);
+        } else {
+            keys = indexes.get(request.indexName());
+            if (keys == null) {
+                throw new IllegalArgumentException("Unknown index: " + request.indexName());
+            }
+        }
+
+        Predicate<Map<String, AttributeValue>> condition = keyCondition(request.keyConditionExpression(),
+                request.expressionAttributeNames(), request.expressionAttributeValues(), keys);
+
+        // Items are ordered by the index sort key, then by the table key so that equal sort keys page stably
+        Comparator<Map<String, AttributeValue>> order = Comparator.comparing(
+                (Map<String, AttributeValue> item) -> keys.sortKey() != null ? item.get(keys.sortKey()).s() : "")
+                .thenComparing(item -> item.get(partitionKey).s());
+        if (Boolean.FALSE.equals(request.scanIndexForward())) {
+            order = order.reversed();
+        }
+
+        List<Map<String, AttributeValue>> matches = table(request.tableName()).values().stream()
+                .filter(item -> item.containsKey(keys.partitionKey())
+                        && (keys.sortKey() == null || item.containsKey(keys.sortKey())))
+                .filter(condition)
+                .sorted(order)
+                .toList();
+
+        int start = 0;
+        if (request.hasExclusiveStartKey()) {
+            Map<String, AttributeValue> startKey = request.exclusiveStartKey();
+            while (start < matches.size() && order.compare(matches.get(start), startKey) <= 0) {
+                start++;
+            }
+        }
+        int limit = request.limit() != null ? request.limit() : Integer.MAX_VALUE;
+        int end = (int) Math.min(matches.size(), (long) start + limit);
+        List<Map<String, AttributeValue>> items = matches.subList(start, end);
+
+        QueryResponse.Builder response = QueryResponse.builder()
+                .items(items.stream()
+                        .map(item -> project(item, request.projectionExpression(), request.expressionAttributeNames()))
+                        .toList())
+                .count(items.size())
+                .scannedCount(items.size());
+        if (end < matches.size() && !items.isEmpty()) {
+            Map<String, AttributeValue> last = items.get(items.size() - 1);
+            Map<String, AttributeValue> lastKey = new HashMap<>();
+            lastKey.put(partitionKey, last.get(partitionKey));
+            lastKey.put(keys.partitionKey(), last.get(keys.partitionKey()));
+            if (keys.sortKey() != null) {
+                lastKey.put(keys.sortKey(), last.get(keys.sortKey()));
+            }
+            response.lastEvaluatedKey(lastKey);
+        }
+        return response.build();
+    }
+
+    @Override
+    public QueryIterable queryPaginator(QueryRequest request) {
+        return new QueryIterable(this, request);
+    }
+
+    private NavigableMap<String, Map<String, AttributeValue>> table(String tableName) {
+        return tables.computeIfAbsent(tableName, name -> new ConcurrentSkipListMap<>());
+    }
+
+    private String keyOf(Map<String, AttributeValue> attributes) {
+        AttributeValue value = attributes.get(partitionKey);
+        if (value == null || value.s() == null) {
+            throw new IllegalArgumentException("Missing string key attribute '" + partitionKey + "'");
+        }
+        return value.s();
+    }
+
+    /**
+     * Returns only the attributes a projection expression of top-level names selects, or the whole item if there
+     * is no projection.
+     */
+    private static Map<String, AttributeValue> project(Map<String, AttributeValue> item, String expression,
+                                                       Map<String, String> names) {
+        if (item == null || expression == null || expression.isBlank()) {
+            return item;
+        }
+        Map<String, AttributeValue> projected = new HashMap<>();
+        for (String path : expression.split(",")) {
+            String attribute = resolveName(path.trim(), names);
+            if (attribute.contains(".") || attribute.contains("[")) {
+                throw new UnsupportedOperationException("Unsupported projection expression: " + expression);
+            }
+            AttributeValue value = item.get(attribute);
+            if (value != null) {
+                projected.put(attribute, value);
+            }
+        }
+        return projected;
+    }
+
+    private static void checkCondition(String expression, Map<String, String> names,
+                                       Map<String, AttributeValue> existing) {
+        if (expression == null || expression.isBlank()) {
+            return;
+        }
+        for (String term : expression.split("(?i)\\s+AND\\s+")) {
+            String trimmed = stripParentheses(term.trim());
+            boolean negated = trimmed.startsWith("attribute_not_exists(");
+            if (!negated && !trimmed.startsWith("attribute_exists(")) {
+                throw new UnsupportedOperationException("Unsupported condition expression: " + expression);
+            }
+            String attribute = resolveName(trimmed.substring(trimmed.indexOf('(') + 1, trimmed.lastIndexOf(')')).trim(), names);
+            boolean exists = existing != null && existing.containsKey(attribute);
+            if (exists == negated) {
+                throw ConditionalCheckFailedException.builder()
+                        .message("The conditional request failed")
+                        .build();
+            }
+        }
+    }
+
+    private static String stripParentheses(String term) {
+        while (term.startsWith("(") && term.endsWith(")")) {
+            term = term.substring(1, term.length() - 1).trim();
+        }
+        return term;
+    }
+
+    private static void applyUpdate(String expression, Map<String, String> names,
+                                    Map<String, AttributeValue> values, Map<String, AttributeValue> item) {
+        if (expression == null || expression.isBlank()) {
+            return;
+        }
+        String[] clauses = expression.trim().split("(?i)\\s+(?=(SET|REMOVE)\\s)");
+        for (String clause : clauses) {
+            String trimmed = clause.trim();
+            if (trimmed.regionMatches(true, 0, "SET ", 0, 4)) {
+                for (String assignment : trimmed.substring(4).split(",")) {
+                    String[] parts = assignment.split("=", 2);
+                    String attribute = resolveName(parts[0].trim(), names);
+                    AttributeValue value = values.get(parts[1].trim());
+                    if (value == null) {
+                        throw new IllegalArgumentException("Unsupported update value: " + parts[1].trim());
+                    }
+                    item.put(attribute, value);
+                }
+            } else if (trimmed.regionMatches(true, 0, "REMOVE ", 0, 7)) {
+                for (String path : trimmed.substring(7).split(",")) {
+                    item.remove(resolveName(path.trim(), names));
+                }
+            } else {
+                throw new UnsupportedOperationException("Unsupported update expression: " + expression);
+            }
+        }
+    }
+
+    private static Predicate<Map<String, AttributeValue>> keyCondition(String expression, Map<String, String> names,
+                                                                       Map<String, AttributeValue> values,
+                                                                       IndexKeys keys) {
+        Predicate<Map<String, AttributeValue>> condition = item -> true;
+        boolean hasPartitionKey = false;
+        String remaining = expression;
+        while (!remaining.isBlank()) {
+            Matcher matcher = KEY_CONDITION.matcher(remaining);
+            if (!matcher.find()) {
+                throw new UnsupportedOperationException("Unsupported key condition expression: " + expression);
+            }
+            String attribute;
+            Predicate<String> test;
+            if (matcher.group(1) != null) {
+                attribute = resolveName(matcher.group(1), names);
+                String prefix = stringValue(values, matcher.group(2));
+                test = value -> value.startsWith(prefix);
+            } else if (matcher.group(3) != null) {
+                attribute = resolveName(matcher.group(3), names);
+                String low = stringValue(values, matcher.group(4));
+                String high = stringValue(values, matcher.group(5));
+                test = value -> value.compareTo(low) >= 0 && value.compareTo(high) <= 0;
+            } else {
+                attribute = resolveName(matcher.group(6), names);
+                String operand = stringValue(values, matcher.group(8));
+                test = switch (matcher.group(7)) {
+                    case "=" -> operand::equals;
+                    case "<" -> value -> value.compareTo(operand) < 0;
+                    case "<=" -> value -> value.compareTo(operand) <= 0;
+                    case ">" -> value -> value.compareTo(operand) > 0;
+                    default -> value -> value.compareTo(operand) >= 0;
+                };
+                hasPartitionKey |= attribute.equals(keys.partitionKey()) && "=".equals(matcher.group(7));
+            }
+            if (!attribute.equals(keys.partitionKey()) && !attribute.equals(keys.sortKey())) {
+                throw new IllegalArgumentException("Key condition on non-key attribute: " + attribute);
+            }
+            String key = attribute;
+            condition = condition.and(item -> item.get(key) != null && item.get(key).s() != null
+                    && test.test(item.get(key).s()));
+            remaining = remaining.substring(matcher.end());
+        }
+        if (!hasPartitionKey) {
+            throw new IllegalArgumentException("Key condition must test the partition key for equality");
+        }
+        return condition;
+    }
+
+    private static String stringValue(Map<String, AttributeValue> values, String token) {
+        AttributeValue value = values != null ? values.get(token) : null;
+        if (value == null || value.s() == null) {
+            throw new IllegalArgumentException("Unsupported key condition value: " + token);
+        }
+        return value.s();
+    }
+
+    private static String resolveName(String token, Map<String, String> names) {
+        return token.startsWith("#") && names != null && names.containsKey(token) ? names.get(token) : token;
+    }
+
+    private record IndexKeys(String partitionKey, String sortKey) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.api.routing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouterTest {
+
+    private Router<String> router;
+
+    @BeforeEach
+    void setUp() {
+        router = new Router<>();
+        router.add("GET", "/public", "public");
+        router.add("GET", "/items", "list");
+        router.add("POST", "/items", "create");
+        router.add("GET", "/items/{itemId}", "get");
+        router.add("PUT", "/items/{itemId}", "update");
+        router.add("POST", "/items/search", "search");
+        router.add("GET", "/users/{userId}/items/{itemId}", "userItem");
+    }
+
+    @Test
+    void match_ExactPath() {
+        // Act
+        RouteMatch<String> match = router.match("GET", "/items");
+
+        // Assert
+        assertNotNull(match);
+        assertEquals("list", match.target());
+        assertEquals("/items", match.template());
+        assertTrue(match.pathParameters().isEmpty());
+    }
+
+    @Test
+    void match_ExtractsPathParameters() {
+        // Act
+        RouteMatch<String> match = router.match("GET", "/users/u-1/items/abc-123");
+
+        // Assert
+        assertNotNull(match);
+        assertEquals("userItem", match.target());
+        assertEquals(Map.of("userId", "u-1", "itemId", "abc-123"), match.pathParameters());
+    }
+
+    @Test
+    void match_SelectsRouteByMethod() {
+        assertEquals("update", router.match("PUT", "/items/abc").target());
+        assertEquals("create", router.match("POST", "/items").target());
+        assertNull(router.match("DELETE", "/items/abc"));
+    }
+
+    @Test
+    void match_FallsBackToParameterWhenLiteralHasNoRouteForMethod() {
+        // "/items/search" is only registered for POST, so GET must resolve to the parameter route
+        RouteMatch<String> match = router.match("GET", "/items/search");
+
+        // Assert
+        assertNotNull(match);
+        assertEquals("get", match.target());
+        assertEquals(Map.of("itemId", "search"), match.pathParameters());
+        assertEquals("search", router.match("POST", "/items/search").target());
+    }
+
+    @Test
+    void match_RejectsEmptyAndExtraSegments() {
+        assertNull(router.match("GET", "/items/"));
+        assertNull(router.match("GET", "/items//"));
+        assertNull(router.match("GET", "/items/abc/extra"));
+        assertNull(router.match("GET", "/nonexistent"));
+        assertNull(router.match("GET", ""));
+        assertNull(router.match(null, "/items"));
+    }
+
+    @Test
+    void add_RejectsDuplicateAndConflictingRoutes() {
+        assertThrows(IllegalArgumentException.class, () -> router.add("GET", "/items", "again"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("DELETE", "/items/{id}", "delete"));
+        assertThrows(IllegalArgumentException.class, () -> router.add("GET", "items", "relative"));
+    }
+}
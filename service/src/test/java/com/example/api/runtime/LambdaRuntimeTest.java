@@ -0,0 +1,98 @@
+package com.example.api.runtime;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.example.api.ApiHandler;
+import com.example.api.InMemoryApplicationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LambdaRuntimeTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RuntimeApiEmulator emulator;
+    private LambdaRuntime runtime;
+    private Thread runtimeThread;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        emulator = new RuntimeApiEmulator().start();
+        runtime = new LambdaRuntime(emulator.address(), () -> new ApiHandler(InMemoryApplicationContext.create()));
+        runtimeThread = new Thread(runtime::run, "lambda-runtime-test");
+        runtimeThread.setDaemon(true);
+        runtimeThread.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        runtime.stop();
+        emulator.close();
+        runtimeThread.join(5_000);
+    }
+
+    @Test
+    void restEvent_IsHandledAndResponsePosted() throws Exception {
+        JsonNode response = invoke("{\"resource\":\"/public\",\"path\":\"/public\",\"httpMethod\":\"GET\","
+                + "\"headers\":{\"Accept\":\"application/json\"},\"multiValueHeaders\":{\"Accept\":[\"application/json\"]},"
+                + "\"requestContext\":{\"requestId\":\"abc\",\"identity\":{\"sourceIp\":\"127.0.0.1\"}}}");
+
+        assertEquals(200, response.get("statusCode").asInt());
+        assertTrue(response.get("body").asText().contains("public data"));
+        assertFalse(response.get("isBase64Encoded").asBoolean());
+    }
+
+    @Test
+    void functionUrlEvent_IsHandledAndResponsePosted() throws Exception {
+        JsonNode response = invoke("{\"version\":\"2.0\",\"rawPath\":\"/protected\",\"rawQueryString\":\"\","
+                + "\"headers\":{\"authorization\":\"Bearer test-token\"},"
+                + "\"requestContext\":{\"requestId\":\"def\",\"http\":{\"method\":\"GET\",\"path\":\"/protected\"}}}");
+
+        assertEquals(200, response.get("statusCode").asInt());
+    }
+
+    @Test
+    void unknownRoute_ReturnsNotFound() throws Exception {
+        JsonNode response = invoke("{\"httpMethod\":\"GET\",\"path\":\"/nonexistent\","
+                + "\"headers\":{\"Authorization\":\"Bearer test-token\"}}");
+
+        assertEquals(404, response.get("statusCode").asInt());
+    }
+
+    @Test
+    void malformedEvent_IsReportedAsInvocationError() throws Exception {
+        RuntimeApiEmulator.InvocationResult result = emulator.invoke("[]".getBytes(StandardCharsets.UTF_8))
+                .get(10, TimeUnit.SECONDS);
+
+        assertTrue(result.error());
+        assertEquals("java.io.IOException",
+                objectMapper.readTree(result.payload()).get("errorType").asText());
+    }
+
+    @Test
+    void decodeRequest_MapsFunctionUrlFields() throws Exception {
+        APIGatewayProxyRequestEvent event = ProxyEventCodec.decodeRequest(("{\"version\":\"2.0\","
+                + "\"rawPath\":\"/items/42\",\"queryStringParameters\":{\"limit\":\"5\"},\"body\":\"{}\","
+                + "\"isBase64Encoded\":false,\"requestContext\":{\"requestId\":\"r-1\",\"http\":{\"method\":\"PUT\"}}}")
+                .getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("PUT", event.getHttpMethod());
+        assertEquals("/items/42", event.getPath());
+        assertEquals("5", event.getQueryStringParameters().get("limit"));
+        assertEquals("{}", event.getBody());
+        assertEquals("r-1", event.getRequestContext().getRequestId());
+    }
+
+    private JsonNode invoke(String event) throws Exception {
+        RuntimeApiEmulator.InvocationResult result = emulator.invoke(event.getBytes(StandardCharsets.UTF_8))
+                .get(10, TimeUnit.SECONDS);
+        assertFalse(result.error(), () -> new String(result.payload(), StandardCharsets.UTF_8));
+        return objectMapper.readTree(result.payload());
+    }
+}
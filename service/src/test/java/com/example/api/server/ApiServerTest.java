@@ -0,0 +1,92 @@
+package com.example.api.server;
+
+import com.example.api.ApiHandler;
+import com.example.api.InMemoryApplicationContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private ApiServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new ApiServer(new ApiHandler(InMemoryApplicationContext.create()), 0, 1024, 4).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void get_DispatchesThroughRouteTable() throws Exception {
+        HttpResponse<String> response = send(request("/public").GET().build());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("public data"));
+        assertEquals("application/json", response.headers().firstValue("Content-Type").orElse(null));
+    }
+
+    @Test
+    void protectedRoute_ForwardsAuthorizationHeader() throws Exception {
+        assertEquals(401, send(request("/protected").GET().build()).statusCode());
+        assertEquals(200, send(request("/protected").header("Authorization", "Bearer test-token").GET().build())
+                .statusCode());
+    }
+
+    @Test
+    void query_IsDecodedIntoParameters() throws Exception {
+        HttpResponse<String> response = send(request("/items?order=sideways").header("Authorization", "Bearer t")
+                .GET().build());
+
+        assertEquals(400, response.statusCode());
+        assertTrue(response.body().contains("order must be"));
+    }
+
+    @Test
+    void malformedQuery_IsRejected() throws Exception {
+        // HttpClient refuses to send a malformed escape, so the request is written by hand
+        try (Socket socket = new Socket("localhost", server.port())) {
+            socket.getOutputStream().write(("GET /items?limit=%zz HTTP/1.1\r\nHost: localhost\r\n"
+                    + "Authorization: Bearer t\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            String statusLine = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                    StandardCharsets.US_ASCII)).readLine();
+
+            assertEquals("HTTP/1.1 400 Bad Request", statusLine);
+        }
+    }
+
+    @Test
+    void oversizedBody_IsRejected() throws Exception {
+        HttpResponse<String> response = send(request("/items").header("Authorization", "Bearer t")
+                .POST(HttpRequest.BodyPublishers.ofString("x".repeat(2048))).build());
+
+        assertEquals(413, response.statusCode());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path))
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
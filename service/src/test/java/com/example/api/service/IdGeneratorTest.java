@@ -0,0 +1,33 @@
+package com.example.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    @Test
+    void newId_ProducesUniqueVersion4IdsAcrossReseed() {
+        // Arrange
+        Set<String> ids = new HashSet<>();
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            ids.add(IdGenerator.newId());
+        }
+        IdGenerator.reseed();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(IdGenerator.newId());
+        }
+
+        // Assert
+        assertEquals(2000, ids.size());
+        UUID uuid = UUID.fromString(ids.iterator().next());
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+}
@@ -1,18 +1,56 @@
 package com.example.api.service;
 
+import com.example.api.data.InMemoryDynamoDbAsyncClient;
+import com.example.api.data.InMemoryDynamoDbClient;
 import com.example.api.data.ItemEntity;
 import com.example.api.model.Item;
 import com.example.api.model.NewItem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
-import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -20,18 +58,22 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 class ItemServiceTest {
-    private DynamoDbEnhancedClient dynamoDbClient;
-    private DynamoDbTable<ItemEntity> table;
+    private DynamoDbAsyncClient dynamoDbClient;
+    private DynamoDbEnhancedAsyncClient enhancedClient;
+    private DynamoDbAsyncTable<ItemEntity> table;
     private ItemService itemService;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 
     @BeforeEach
     @SuppressWarnings("unchecked")
     void setUp() {
-        dynamoDbClient = mock(DynamoDbEnhancedClient.class);
-        table = mock(DynamoDbTable.class);
-        when(dynamoDbClient.table(anyString(), any(TableSchema.class))).thenReturn(table);
-        itemService = new ItemService(dynamoDbClient, "test-table");
+        dynamoDbClient = mock(DynamoDbAsyncClient.class);
+        enhancedClient = mock(DynamoDbEnhancedAsyncClient.class);
+        table = mock(DynamoDbAsyncTable.class);
+        when(enhancedClient.table(anyString(), any(TableSchema.class))).thenReturn(table);
+        itemService = new ItemService(new AsyncItemService(dynamoDbClient, enhancedClient, "test-table",
+                PageTokenCodec.fromEnvironment("test-table"), Backoff.DEFAULT, ItemCache.disabled(),
+                AsyncItemService.DEFAULT_MAX_CONCURRENT_CHUNKS));
     }
 
     @Test
@@ -40,6 +82,7 @@ class ItemServiceTest {
         NewItem newItem = new NewItem("Test Item", "Test Description");
 
         ArgumentCaptor<ItemEntity> entityCaptor = ArgumentCaptor.forClass(ItemEntity.class);
+        when(table.putItem(any(ItemEntity.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         Item result = itemService.createItem(newItem);
@@ -72,7 +115,7 @@ class ItemServiceTest {
         entity.setCreatedAt(now.format(DATE_FORMATTER));
         entity.setUpdatedAt(now.format(DATE_FORMATTER));
 
-        when(table.getItem(any(Key.class))).thenReturn(entity);
+        when(table.getItem(any(Key.class))).thenReturn(CompletableFuture.completedFuture(entity));
 
         // Act
         Item result = itemService.getItem(id);
@@ -90,7 +133,7 @@ class ItemServiceTest {
     void getItem_NotFound() {
         // Arrange
         String id = "non-existent-id";
-        when(table.getItem(any(Key.class))).thenReturn(null);
+        when(table.getItem(any(Key.class))).thenReturn(CompletableFuture.completedFuture(null));
 
         // Act
         Item result = itemService.getItem(id);
@@ -103,38 +146,53 @@ class ItemServiceTest {
     void updateItem_Success() {
         // Arrange
         String id = "test-id";
-        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
         
         Item item = new Item(
             id,
             "Updated Item",
             "Updated Description",
-            now,
-            now
+            OffsetDateTime.now(),
+            null
         );
 
-        ItemEntity existingEntity = new ItemEntity();
-        existingEntity.setId(id);
-        when(table.getItem(any(Key.class))).thenReturn(existingEntity);
+        ItemEntity storedEntity = new ItemEntity();
+        storedEntity.setId(id);
+        storedEntity.setName(item.name());
+        storedEntity.setDescription(item.description());
+        storedEntity.setCreatedAt(createdAt.format(DATE_FORMATTER));
+        storedEntity.setUpdatedAt(OffsetDateTime.now().format(DATE_FORMATTER));
+        storedEntity.indexByCreatedAt(createdAt);
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(UpdateItemResponse.builder()
+                        .attributes(ItemEntity.TABLE_SCHEMA.itemToMap(storedEntity, true))
+                        .build()));
 
-        ArgumentCaptor<ItemEntity> entityCaptor = ArgumentCaptor.forClass(ItemEntity.class);
+        ArgumentCaptor<UpdateItemRequest> requestCaptor = ArgumentCaptor.forClass(UpdateItemRequest.class);
 
         // Act
         Item result = itemService.updateItem(id, item);
 
         // Assert
-        verify(table).putItem(entityCaptor.capture());
-        ItemEntity capturedEntity = entityCaptor.getValue();
+        verify(dynamoDbClient).updateItem(requestCaptor.capture());
+        verify(table, never()).getItem(any(Key.class));
+        verify(table, never()).putItem(any(ItemEntity.class));
+        UpdateItemRequest request = requestCaptor.getValue();
 
         assertNotNull(result);
         assertEquals(id, result.id());
         assertEquals(item.name(), result.name());
         assertEquals(item.description(), result.description());
+        assertEquals(createdAt.toInstant(), result.createdAt().toInstant());
         assertNotNull(result.updatedAt());
 
-        assertEquals(id, capturedEntity.getId());
-        assertEquals(item.name(), capturedEntity.getName());
-        assertEquals(item.description(), capturedEntity.getDescription());
+        assertEquals("SET #name = :name, #description = :description, #updatedAt = :updatedAt",
+                request.updateExpression());
+        assertEquals("attribute_exists(#id)", request.conditionExpression());
+        assertEquals(id, request.key().get("id").s());
+        assertFalse(request.expressionAttributeNames().containsValue("createdAt"));
+        assertEquals(item.name(), request.expressionAttributeValues().get(":name").s());
+        assertEquals(item.description(), request.expressionAttributeValues().get(":description").s());
     }
 
     @Test
@@ -151,7 +209,9 @@ class ItemServiceTest {
             now
         );
         
-        when(table.getItem(any(Key.class))).thenReturn(null);
+        when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        ConditionalCheckFailedException.builder().message("The conditional request failed").build()));
 
         // Act
         Item result = itemService.updateItem(id, item);
@@ -161,15 +221,652 @@ class ItemServiceTest {
         verify(table, never()).putItem(any(ItemEntity.class));
     }
 
+    @Test
+    void updateItem_NullDescriptionRemovesStoredDescription() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        putItemCreatedAt(client, "item-1", createdAt);
+        service.updateItem("item-1", new Item("item-1", "Described", "Old description", null, null));
+
+        // Act
+        Item updated = service.updateItem("item-1", new Item("item-1", "Renamed", null, null, null));
+
+        // Assert
+        assertNull(updated.description());
+        assertNull(service.getItem("item-1").description());
+        Map<String, AttributeValue> stored = client.getItem(GetItemRequest.builder()
+                .tableName("test-table")
+                .key(Map.of("id", AttributeValue.builder().s("item-1").build()))
+                .build()).item();
+        assertFalse(stored.containsKey("description"));
+        assertEquals(createdAt.toInstant(), updated.createdAt().toInstant());
+        assertEquals(ItemEntity.createdAtPartition("item-1"), stored.get("gsi1pk").s());
+    }
+
+    @Test
+    void updateItem_KeepsStoredCreatedAtAgainstInMemoryStore() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        putItemCreatedAt(client, "item-1", createdAt);
+
+        // Act
+        Item updated = service.updateItem("item-1",
+                new Item("item-1", "Renamed", "New description", OffsetDateTime.now(), null));
+        Item missing = service.updateItem("item-2", new Item("item-2", "Missing", null, null, null));
+
+        // Assert
+        assertEquals("Renamed", updated.name());
+        assertEquals(createdAt.toInstant(), updated.createdAt().toInstant());
+        assertEquals("Renamed", service.getItem("item-1").name());
+        assertEquals(List.of("item-1"), service.listItemsByCreatedAt(10, false, createdAt, createdAt, null)
+                .items().stream().map(Item::id).toList());
+        assertNull(missing);
+        assertNull(service.getItem("item-2"));
+    }
+
+    @Test
+    void updateItem_IndexesItemsWrittenBeforeTheIndexKeys() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        putLegacyItem(client, "item-1", createdAt);
+        assertTrue(service.listItemsByCreatedAt(10, false, null, null, null).items().isEmpty());
+
+        // Act
+        service.updateItem("item-1", new Item("item-1", "Renamed", null, null, null));
+
+        // Assert
+        List<Item> listed = service.listItemsByCreatedAt(10, false, null, null, null).items();
+        assertEquals(List.of("item-1"), listed.stream().map(Item::id).toList());
+        assertEquals("Renamed", listed.get(0).name());
+        assertEquals(createdAt.toInstant(), listed.get(0).createdAt().toInstant());
+    }
+
+    @Test
+    void backfillCreatedAtIndex_IndexesOnlyItemsWithoutIndexKeys() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 250; i++) {
+            putLegacyItem(client, "legacy-" + i, createdAt.plusSeconds(i));
+        }
+        putItemCreatedAt(client, "indexed", createdAt.minusDays(1));
+
+        // Act
+        long indexed = service.async().backfillCreatedAtIndex(0, 2).join()
+                + service.async().backfillCreatedAtIndex(1, 2).join();
+        long rerun = service.async().backfillCreatedAtIndex(0, 1).join();
+
+        // Assert
+        assertEquals(250, indexed);
+        assertEquals(0, rerun);
+        ItemPage page = service.listItemsByCreatedAt(3, false, null, null, null);
+        assertEquals(List.of("indexed", "legacy-0", "legacy-1"), page.items().stream().map(Item::id).toList());
+        assertEquals("legacy-0", page.items().get(1).name());
+    }
+
     @Test
     void deleteItem_Success() {
         // Arrange
         String id = "test-id";
+        OffsetDateTime now = OffsetDateTime.now();
+
+        ItemEntity deletedEntity = new ItemEntity();
+        deletedEntity.setId(id);
+        deletedEntity.setName("Test Item");
+        deletedEntity.setCreatedAt(now.format(DATE_FORMATTER));
+        deletedEntity.setUpdatedAt(now.format(DATE_FORMATTER));
+        when(table.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(deletedEntity));
+
+        ArgumentCaptor<DeleteItemEnhancedRequest> requestCaptor = ArgumentCaptor.forClass(DeleteItemEnhancedRequest.class);
+
+        // Act
+        Item result = itemService.deleteItem(id);
+
+        // Assert
+        verify(table).deleteItem(requestCaptor.capture());
+        verify(table, never()).getItem(any(Key.class));
+        assertEquals(id, requestCaptor.getValue().key().partitionKeyValue().s());
+        assertEquals("attribute_exists(#id)", requestCaptor.getValue().conditionExpression().expression());
+        assertNotNull(result);
+        assertEquals(id, result.id());
+        assertEquals("Test Item", result.name());
+    }
+
+    @Test
+    void deleteItem_NotFound() {
+        // Arrange
+        when(table.deleteItem(any(DeleteItemEnhancedRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(
+                        ConditionalCheckFailedException.builder().message("The conditional request failed").build()));
+
+        // Act
+        Item result = itemService.deleteItem("non-existent-id");
+
+        // Assert
+        assertNull(result);
+    }
+
+    @Test
+    void listItems_ReadsOnePagePerCallAndFollowsNextToken() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = inMemoryService(client);
+        for (int i = 0; i < 5; i++) {
+            service.createItem(new NewItem("Item " + i, "Description " + i));
+        }
+
+        // Act
+        Set<String> ids = new HashSet<>();
+        ItemPage page = service.listItems(2, null);
+        int pages = 1;
+        page.items().forEach(item -> ids.add(item.id()));
+        while (page.nextToken() != null) {
+            page = service.listItems(2, page.nextToken());
+            page.items().forEach(item -> ids.add(item.id()));
+            pages++;
+        }
+
+        // Assert
+        assertEquals(5, ids.size());
+        assertEquals(3, pages);
+        verify(client, times(3)).scan(any(ScanRequest.class));
+    }
+
+    @Test
+    void listItemsAndGetItem_ReadOnlyTheSelectedFields() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = inMemoryService(client);
+        for (int i = 0; i < 3; i++) {
+            putItemCreatedAt(client, "item-" + i, OffsetDateTime.now());
+        }
+
+        // Act
+        ItemPage page = service.listItems(2, null, Set.of("name"));
+        page = service.listItems(2, page.nextToken(), Set.of("name"));
+        Item item = service.getItem("item-1", Set.of("description"));
+
+        // Assert: the page token still works, and only the fields, ID and update time were read
+        assertEquals(1, page.items().size());
+        Item listed = page.items().get(0);
+        assertNotNull(listed.id());
+        assertNotNull(listed.name());
+        assertNotNull(listed.updatedAt());
+        assertNull(listed.createdAt());
+        ArgumentCaptor<ScanRequest> scan = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(client, times(2)).scan(scan.capture());
+        assertEquals(3, scan.getValue().projectionExpression().split(",").length);
+
+        assertEquals("item-1", item.id());
+        assertNull(item.name());
+        assertNull(item.createdAt());
+        verify(client, never()).getItem(any(GetItemRequest.class));
+        assertNull(service.getItem("missing-id", Set.of("name")));
+    }
+
+    @Test
+    void listItems_RejectsTamperedToken() {
+        // Arrange
+        ItemService service = inMemoryService(new InMemoryDynamoDbClient());
+        for (int i = 0; i < 3; i++) {
+            service.createItem(new NewItem("Item " + i, "Description " + i));
+        }
+        String token = service.listItems(1, null).nextToken();
+        assertNotNull(token);
+
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"s\":\"scan\",\"k\":{\"id\":\"zzz\"}}".getBytes(StandardCharsets.UTF_8))
+                + token.substring(token.indexOf('.'));
+
+        // Act & Assert
+        assertThrows(InvalidPageTokenException.class, () -> service.listItems(1, forged));
+        assertThrows(InvalidPageTokenException.class, () -> service.listItems(1, "not-a-token"));
+    }
+
+    @Test
+    void pageTokenCodec_RequiresSecretOutsideLocalStage() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> PageTokenCodec.fromEnvironment("items", null, "prod"));
+        assertThrows(IllegalStateException.class, () -> PageTokenCodec.fromEnvironment("items", " ", "dev"));
+        assertNotNull(PageTokenCodec.fromEnvironment("items", "secret", "prod"));
+        assertNotNull(PageTokenCodec.fromEnvironment("items", null, "local"));
+        assertNotNull(PageTokenCodec.fromEnvironment("items", null, null));
+    }
+
+    @Test
+    void listItemsByCreatedAt_OrdersAndBoundsByCreationTime() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            putItemCreatedAt(client, "item-" + i, base.plusDays(i));
+        }
+
+        // Act
+        ItemPage oldest = service.listItemsByCreatedAt(10, false, null, null, null);
+        ItemPage newest = service.listItemsByCreatedAt(10, true, null, null, null);
+        ItemPage range = service.listItemsByCreatedAt(10, false, base.plusDays(1), base.plusDays(3), null);
+
+        // Assert
+        assertEquals(List.of("item-0", "item-1", "item-2", "item-3", "item-4"),
+                oldest.items().stream().map(Item::id).toList());
+        assertEquals(List.of("item-4", "item-3", "item-2", "item-1", "item-0"),
+                newest.items().stream().map(Item::id).toList());
+        assertEquals(List.of("item-1", "item-2", "item-3"),
+                range.items().stream().map(Item::id).toList());
+        assertNull(range.nextToken());
+    }
+
+    @Test
+    void listItemsByCreatedAt_PagesWithTokensBoundToTheQuery() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < 3; i++) {
+            putItemCreatedAt(client, "item-" + i, base.plusHours(i));
+        }
+
+        // Act
+        ItemPage first = service.listItemsByCreatedAt(2, true, null, null, null);
+        ItemPage second = service.listItemsByCreatedAt(2, true, null, null, first.nextToken());
+
+        // Assert
+        assertEquals(List.of("item-2", "item-1"), first.items().stream().map(Item::id).toList());
+        assertEquals(List.of("item-0"), second.items().stream().map(Item::id).toList());
+        assertNull(second.nextToken());
+        assertThrows(InvalidPageTokenException.class,
+                () -> service.listItemsByCreatedAt(2, false, null, null, first.nextToken()));
+        assertThrows(InvalidPageTokenException.class, () -> service.listItems(2, first.nextToken()));
+    }
+
+    @Test
+    void listItemsByCreatedAt_MergesShardsAcrossPages() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        ItemService service = inMemoryService(client);
+        OffsetDateTime base = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        List<String> expected = new ArrayList<>();
+        Set<String> partitions = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            String id = "item-" + i;
+            putItemCreatedAt(client, id, base.plusMinutes(i));
+            expected.add(id);
+            partitions.add(ItemEntity.createdAtPartition(id));
+        }
+
+        // Act
+        List<String> oldest = new ArrayList<>();
+        List<String> newest = new ArrayList<>();
+        String oldestToken = null;
+        String newestToken = null;
+        int pages = 0;
+        do {
+            ItemPage ascending = service.listItemsByCreatedAt(3, false, null, null, oldestToken);
+            ItemPage descending = service.listItemsByCreatedAt(3, true, null, null, newestToken, Set.of("name"));
+            ascending.items().forEach(item -> oldest.add(item.id()));
+            descending.items().forEach(item -> newest.add(item.id()));
+            oldestToken = ascending.nextToken();
+            newestToken = descending.nextToken();
+            pages++;
+        } while (oldestToken != null && pages < 20);
+
+        // Assert
+        assertTrue(partitions.size() > 1);
+        assertNull(newestToken);
+        assertEquals(expected, oldest);
+        Collections.reverse(newest);
+        assertEquals(expected, newest);
+    }
+
+    @Test
+    void batchGetItems_ChunksConcurrentlyAndSeparatesMissingIds() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = inMemoryService(client);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            ids.add("item-" + i);
+            if (i % 2 == 0) {
+                putItemCreatedAt(client, "item-" + i, OffsetDateTime.now());
+            }
+        }
+        ids.add("item-0");
+
+        // Act
+        BatchGetResult result = service.batchGetItems(ids);
+
+        // Assert
+        assertEquals(125, result.items().size());
+        assertEquals(125, result.missingIds().size());
+        assertTrue(result.unprocessedIds().isEmpty());
+        assertEquals("item-0", result.items().get(0).id());
+        assertEquals("item-2", result.items().get(1).id());
+        assertEquals("item-1", result.missingIds().get(0));
+        verify(client, times(3)).batchGetItem(any(BatchGetItemRequest.class));
+    }
+
+    @Test
+    void batchGetItems_RetriesUnprocessedKeysAndReportsTheRest() {
+        // Arrange: every call leaves its last key unprocessed
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient() {
+            @Override
+            public BatchGetItemResponse batchGetItem(BatchGetItemRequest request) {
+                KeysAndAttributes keys = request.requestItems().get("test-table");
+                List<Map<String, AttributeValue>> processed = keys.keys().subList(0, keys.keys().size() - 1);
+                BatchGetItemResponse response = super.batchGetItem(request.toBuilder()
+                        .requestItems(Map.of("test-table", keys.toBuilder().keys(processed).build()))
+                        .build());
+                return response.toBuilder()
+                        .unprocessedKeys(Map.of("test-table", keys.toBuilder()
+                                .keys(keys.keys().subList(keys.keys().size() - 1, keys.keys().size()))
+                                .build()))
+                        .build();
+            }
+        };
+        ItemService service = new ItemService(client.async(), "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)), new Backoff(3, 0, 0),
+                ItemCache.disabled());
+        for (int i = 0; i < 4; i++) {
+            putItemCreatedAt(client, "item-" + i, OffsetDateTime.now());
+        }
+
+        // Act
+        BatchGetResult result = service.batchGetItems(List.of("item-0", "item-1", "item-2", "item-3"));
+
+        // Assert: three attempts each process all but one key
+        assertEquals(List.of("item-0", "item-1", "item-2"), result.items().stream().map(Item::id).toList());
+        assertEquals(List.of("item-3"), result.unprocessedIds());
+        assertTrue(result.missingIds().isEmpty());
+    }
+
+    @Test
+    void batchCreateItems_WritesInChunksOfTwentyFive() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = inMemoryService(client);
+        List<NewItem> newItems = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            newItems.add(new NewItem("Item " + i, null));
+        }
+
+        // Act
+        List<ItemWriteResult> results = service.batchCreateItems(newItems);
+
+        // Assert
+        assertEquals(60, results.size());
+        assertTrue(results.stream().allMatch(r -> r.status() == ItemWriteResult.Status.CREATED));
+        assertEquals("Item 59", results.get(59).item().name());
+        assertEquals("Item 59", service.getItem(results.get(59).id()).name());
+        verify(client, times(3)).batchWriteItem(any(BatchWriteItemRequest.class));
+        verify(client, never()).putItem(any(PutItemRequest.class));
+    }
+
+    @Test
+    void batchCreateItems_KeepsAtMostTheChunkLimitInFlight() {
+        // Arrange: each BatchWriteItem call completes a few milliseconds after it is sent
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        InMemoryDynamoDbAsyncClient asyncClient = new InMemoryDynamoDbAsyncClient(client) {
+            @Override
+            public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.supplyAsync(() -> {
+                    BatchWriteItemResponse response = client.batchWriteItem(request);
+                    inFlight.decrementAndGet();
+                    return response;
+                }, CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS));
+            }
+        };
+        ItemService service = new ItemService(asyncClient, "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)), Backoff.DEFAULT,
+                ItemCache.disabled(), 3);
+        List<NewItem> newItems = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            newItems.add(new NewItem("Item " + i, null));
+        }
+
+        // Act
+        List<ItemWriteResult> results = service.batchCreateItems(newItems);
+
+        // Assert: ten chunks, three at a time
+        assertEquals(3, maxInFlight.get());
+        assertEquals(0, inFlight.get());
+        assertTrue(results.stream().allMatch(r -> r.status() == ItemWriteResult.Status.CREATED));
+        assertEquals("Item 249", service.getItem(results.get(249).id()).name());
+    }
+
+    @Test
+    void batchDeleteItems_RetriesUnprocessedWrites() {
+        // Arrange: the first call of each chunk leaves its last write unprocessed
+        Set<String> retried = ConcurrentHashMap.newKeySet();
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient() {
+            @Override
+            public BatchWriteItemResponse batchWriteItem(BatchWriteItemRequest request) {
+                List<WriteRequest> writes = request.requestItems().get("test-table");
+                WriteRequest last = writes.get(writes.size() - 1);
+                if (writes.size() == 1 || !retried.add(last.deleteRequest().key().get("id").s())) {
+                    return super.batchWriteItem(request);
+                }
+                super.batchWriteItem(request.toBuilder()
+                        .requestItems(Map.of("test-table", writes.subList(0, writes.size() - 1)))
+                        .build());
+                return BatchWriteItemResponse.builder()
+                        .unprocessedItems(Map.of("test-table", List.of(last)))
+                        .build();
+            }
+        };
+        ItemService service = new ItemService(client.async(), "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)), new Backoff(3, 0, 0),
+                ItemCache.disabled());
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            putItemCreatedAt(client, "item-" + i, OffsetDateTime.now());
+            ids.add("item-" + i);
+        }
+
+        // Act
+        List<ItemWriteResult> results = service.batchDeleteItems(ids);
+
+        // Assert
+        assertEquals(30, results.size());
+        assertTrue(results.stream().allMatch(r -> r.status() == ItemWriteResult.Status.DELETED));
+        assertEquals(Set.of("item-24", "item-29"), retried);
+        assertTrue(service.listItems(100, null).items().isEmpty());
+    }
+
+    @Test
+    void getItem_ReadsThroughCacheKeptCurrentByWrites() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = new ItemService(client.async(), "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)), Backoff.DEFAULT,
+                new ItemCache(10, Duration.ofMinutes(1)));
+        String id = service.createItem(new NewItem("Original", "Description")).id();
+
+        // Act & Assert: the created item is served from the cache
+        assertEquals("Original", service.getItem(id).name());
+        verify(client, never()).getItem(any(GetItemRequest.class));
+
+        // An update replaces the cached copy
+        service.updateItem(id, new Item(null, "Updated", null, null, null));
+        assertEquals("Updated", service.getItem(id).name());
+        verify(client, never()).getItem(any(GetItemRequest.class));
+
+        // A delete invalidates it, so the next read goes to the table
+        service.deleteItem(id);
+        assertNull(service.getItem(id));
+        verify(client, times(1)).getItem(any(GetItemRequest.class));
+
+        assertEquals(2, service.cache().stats().hits());
+        assertEquals(1, service.cache().stats().misses());
+    }
+
+    @Test
+    void getItem_AnswersRepeatedMissesFromNegativeCache() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = new ItemService(client.async(), "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)), Backoff.DEFAULT,
+                new ItemCache(0, Duration.ZERO, 10, Duration.ofMinutes(1)));
 
         // Act
-        itemService.deleteItem(id);
+        assertNull(service.getItem("missing-id"));
+        assertNull(service.getItem("missing-id"));
 
         // Assert
-        verify(table).deleteItem(any(Key.class));
+        verify(client, times(1)).getItem(any(GetItemRequest.class));
+        assertEquals(1, service.cache().missingStats().hits());
+
+        // Caching the item, as createItem does, clears its negative entry
+        service.cache().put(new Item("missing-id", "Now present", null, OffsetDateTime.now(), OffsetDateTime.now()));
+        assertFalse(service.cache().isKnownMissing("missing-id"));
+    }
+
+    @Test
+    void getItemVersion_ProjectsOnlyTheVersionAttributesAndUsesTheCache() {
+        // Arrange
+        InMemoryDynamoDbClient client = spy(new InMemoryDynamoDbClient());
+        ItemService service = new ItemService(client.async(), "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)), Backoff.DEFAULT,
+                new ItemCache(10, Duration.ofMinutes(1), 10, Duration.ofMinutes(1)));
+        OffsetDateTime updatedAt = OffsetDateTime.parse("2025-01-01T10:00:00.123Z");
+        putItemCreatedAt(client, "stored-item", updatedAt);
+
+        // Act
+        ItemVersion version = service.getItemVersion("stored-item");
+
+        // Assert: the version came from a query that projected two attributes, not from a full read
+        assertEquals(new ItemVersion("stored-item", updatedAt), version);
+        ArgumentCaptor<QueryRequest> query = ArgumentCaptor.forClass(QueryRequest.class);
+        verify(client).query(query.capture());
+        assertEquals(2, query.getValue().projectionExpression().split(",").length);
+        assertNull(query.getValue().indexName());
+        verify(client, never()).getItem(any(GetItemRequest.class));
+
+        // A missing item has no version, and is remembered as missing
+        assertNull(service.getItemVersion("missing-id"));
+        assertTrue(service.cache().isKnownMissing("missing-id"));
+
+        // A cached item's version needs no read at all
+        Item created = service.createItem(new NewItem("Cached", null));
+        assertEquals(new ItemVersion(created.id(), created.updatedAt()), service.getItemVersion(created.id()));
+        verify(client, times(2)).query(any(QueryRequest.class));
+    }
+
+    @Test
+    void getItem_CoalescesConcurrentReadsOfTheSameId() throws Exception {
+        // Arrange: the table read blocks until every other caller is waiting on it
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient() {
+            @Override
+            public GetItemResponse getItem(GetItemRequest request) {
+                reads.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.getItem(request);
+            }
+        };
+        ItemService service = inMemoryService(client);
+        putItemCreatedAt(client, "hot-item", OffsetDateTime.now());
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // Act
+            List<Future<Item>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> service.getItem("hot-item")));
+            }
+            while (service.coalescedReads() < callers - 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<Item> result : results) {
+                assertEquals("hot-item", result.get(5, TimeUnit.SECONDS).id());
+            }
+            assertEquals(1, reads.get());
+            assertEquals(callers - 1, service.coalescedReads());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void scanSegment_SplitsTheTableIntoDisjointSegments() {
+        // Arrange
+        InMemoryDynamoDbClient client = new InMemoryDynamoDbClient();
+        AsyncItemService service = inMemoryService(client).async();
+        for (int i = 0; i < 20; i++) {
+            putItemCreatedAt(client, "item-" + i, OffsetDateTime.now());
+        }
+
+        // Act: subscribe to every segment at once
+        List<String> ids = new ArrayList<>();
+        List<CompletableFuture<Void>> segments = new ArrayList<>();
+        for (int segment = 0; segment < 4; segment++) {
+            SdkPublisher<Item> items = service.scanSegment(segment, 4);
+            segments.add(items.subscribe(item -> {
+                synchronized (ids) {
+                    ids.add(item.id());
+                }
+            }));
+        }
+        CompletableFuture.allOf(segments.toArray(CompletableFuture[]::new)).join();
+
+        // Assert: each item appears in exactly one segment
+        assertEquals(20, ids.size());
+        assertEquals(20, new HashSet<>(ids).size());
+    }
+
+    private static void putItemCreatedAt(InMemoryDynamoDbClient client, String id, OffsetDateTime createdAt) {
+        ItemEntity entity = new ItemEntity();
+        entity.setId(id);
+        entity.setName(id);
+        entity.setCreatedAt(createdAt.format(DATE_FORMATTER));
+        entity.setUpdatedAt(createdAt.format(DATE_FORMATTER));
+        entity.indexByCreatedAt(createdAt);
+        DynamoDbEnhancedClient.builder()
+                .dynamoDbClient(client)
+                .build()
+                .table("test-table", ItemEntity.TABLE_SCHEMA)
+                .putItem(entity);
+    }
+
+    /**
+     * Stores an item as written before the {@code gsi1} keys were introduced.
+     */
+    private static void putLegacyItem(InMemoryDynamoDbClient client, String id, OffsetDateTime createdAt) {
+        ItemEntity entity = new ItemEntity();
+        entity.setId(id);
+        entity.setName(id);
+        entity.setCreatedAt(createdAt.format(DATE_FORMATTER));
+        entity.setUpdatedAt(createdAt.format(DATE_FORMATTER));
+        DynamoDbEnhancedClient.builder()
+                .dynamoDbClient(client)
+                .build()
+                .table("test-table", ItemEntity.TABLE_SCHEMA)
+                .putItem(entity);
+    }
+
+    private static ItemService inMemoryService(InMemoryDynamoDbClient client) {
+        return new ItemService(client.async(), "test-table",
+                new PageTokenCodec("test-secret".getBytes(StandardCharsets.UTF_8)));
     }
 }
@@ -0,0 +1,98 @@
+package com.example.api.utils;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogTest {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        logger = new LoggerContext().getLogger(AccessLogTest.class);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @Test
+    void log_WritesOneJsonLineWithSecretsRedacted() throws Exception {
+        AccessLog accessLog = new AccessLog(logger, 1, Duration.ofSeconds(1));
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("limit", "10");
+        query.put("apiKey", "hunter2");
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("POST")
+                .withPath("/items/\"quoted\"")
+                .withQueryStringParameters(query)
+                .withHeaders(Map.of("Authorization", "Bearer secret-token"))
+                .withBody("{\"name\":\"caf\u00e9\"}");
+        APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent()
+                .withStatusCode(201)
+                .withBody("{}");
+
+        accessLog.log(request, "/items/{itemId}", response, 12_345_678, "request-1");
+
+        assertEquals(1, appender.list.size());
+        String line = appender.list.get(0).getFormattedMessage();
+        assertFalse(line.contains("hunter2"));
+        assertFalse(line.contains("secret-token"));
+        JsonNode entry = JsonCodec.shared().mapper().readTree(line);
+        assertEquals("access", entry.get("type").asText());
+        assertEquals("request-1", entry.get("requestId").asText());
+        assertEquals("POST", entry.get("method").asText());
+        assertEquals("/items/{itemId}", entry.get("route").asText());
+        assertEquals("/items/\"quoted\"", entry.get("path").asText());
+        assertEquals("10", entry.get("query").get("limit").asText());
+        assertEquals("[REDACTED]", entry.get("query").get("apiKey").asText());
+        assertEquals(201, entry.get("status").asInt());
+        assertEquals("12.345", entry.get("latencyMs").asText());
+        assertEquals(16, entry.get("requestBytes").asLong());
+        assertEquals(2, entry.get("responseBytes").asLong());
+        assertEquals("sampled", entry.get("reason").asText());
+    }
+
+    @Test
+    void log_AlwaysLogsErrorsAndSlowRequestsButSamplesTheRest() {
+        AccessLog accessLog = new AccessLog(logger, 0, Duration.ofMillis(500));
+        APIGatewayProxyRequestEvent request = new APIGatewayProxyRequestEvent()
+                .withHttpMethod("GET")
+                .withPath("/items");
+
+        accessLog.log(request, "/items", new APIGatewayProxyResponseEvent().withStatusCode(200), 1_000_000, null);
+        accessLog.log(request, "/items", new APIGatewayProxyResponseEvent().withStatusCode(404), 1_000_000, null);
+        accessLog.log(request, "/items", new APIGatewayProxyResponseEvent().withStatusCode(200), 600_000_000, null);
+
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("\"reason\":\"error\""));
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("\"reason\":\"slow\""));
+    }
+
+    @Test
+    void bodyBytes_CountsEncodedSize() {
+        assertEquals(0, AccessLog.bodyBytes(null, null));
+        assertEquals(5, AccessLog.bodyBytes("caf\u00e9", false));
+        assertEquals(4, AccessLog.bodyBytes("\ud83d\ude00", null));
+        assertEquals(4, AccessLog.bodyBytes("AAAAAA==", true));
+    }
+
+    @Test
+    void isSecret_MatchesCredentialLikeNames() {
+        assertTrue(AccessLog.isSecret("access_token"));
+        assertTrue(AccessLog.isSecret("X-Api-Key"));
+        assertFalse(AccessLog.isSecret("limit"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.api.utils;
+
+import com.example.api.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagsTest {
+
+    private static final OffsetDateTime UPDATED_AT = OffsetDateTime.parse("2025-01-01T10:00:00Z");
+
+    @Test
+    void forItem_ChangesWithTheUpdateTimeOnly() {
+        String etag = ETags.forItem("item-1", UPDATED_AT);
+
+        assertTrue(etag.matches("\"[0-9a-z]+\""));
+        assertEquals(etag, ETags.forItem("item-1", OffsetDateTime.parse("2025-01-01T12:00:00+02:00")));
+        assertNotEquals(etag, ETags.forItem("item-1", UPDATED_AT.plusNanos(1000)));
+        assertNotEquals(etag, ETags.forItem("item-2", UPDATED_AT));
+    }
+
+    @Test
+    void forPage_ChangesWithAnyItemTheirOrderOrTheNextToken() {
+        Item first = new Item("item-1", "First", null, UPDATED_AT, UPDATED_AT);
+        Item second = new Item("item-2", "Second", null, UPDATED_AT, UPDATED_AT);
+        String etag = ETags.forPage(List.of(first, second), null);
+
+        assertEquals(etag, ETags.forPage(List.of(first, second), null));
+        assertNotEquals(etag, ETags.forPage(List.of(second, first), null));
+        assertNotEquals(etag, ETags.forPage(List.of(first), null));
+        assertNotEquals(etag, ETags.forPage(List.of(first, second), "token"));
+        assertNotEquals(etag, ETags.forPage(List.of(first,
+                new Item("item-2", "Renamed", null, UPDATED_AT, UPDATED_AT.plusSeconds(1))), null));
+    }
+
+    @Test
+    void matches_ComparesWeaklyAndIgnoresTheGzipSuffix() {
+        String etag = ETags.forItem("item-1", UPDATED_AT);
+        String gzipped = etag.substring(0, etag.length() - 1) + "-gzip\"";
+
+        assertTrue(ETags.matches(etag, etag));
+        assertTrue(ETags.matches("\"other\", W/" + etag, etag));
+        assertTrue(ETags.matches(gzipped, etag));
+        assertTrue(ETags.matches("*", etag));
+        assertFalse(ETags.matches("\"other\"", etag));
+        assertFalse(ETags.matches(null, etag));
+    }
+
+    @Test
+    void asMatched_KeepsTheGzipSuffixTheClientSent() {
+        String etag = ETags.forItem("item-1", UPDATED_AT);
+        String gzipped = etag.substring(0, etag.length() - 1) + "-gzip\"";
+
+        assertEquals(gzipped, ETags.asMatched("\"other\", " + gzipped, etag));
+        assertEquals(etag, ETags.asMatched(etag, etag));
+        assertEquals(etag, ETags.asMatched("*", etag));
+        assertEquals(etag, ETags.asMatched(null, etag));
+    }
+}
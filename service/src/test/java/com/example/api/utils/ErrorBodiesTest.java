@@ -0,0 +1,29 @@
+package com.example.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorBodiesTest {
+
+    @Test
+    void body_SerializesEachErrorOnce() {
+        ErrorBodies bodies = new ErrorBodies(JsonCodec.shared());
+
+        String body = bodies.body("BAD_REQUEST", "Name is required");
+
+        assertEquals("{\"code\":\"BAD_REQUEST\",\"message\":\"Name is required\"}", body);
+        assertSame(body, bodies.body("BAD_REQUEST", "Name is required"));
+        assertNotSame(body, bodies.body("NOT_FOUND", "Name is required"));
+    }
+
+    @Test
+    void body_KeepsServingBodiesOnceFull() {
+        ErrorBodies bodies = new ErrorBodies(JsonCodec.shared());
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("{\"code\":\"BAD_REQUEST\",\"message\":\"Item " + i + "\"}",
+                    bodies.body("BAD_REQUEST", "Item " + i));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.api.utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorLogTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private ErrorLog errorLog;
+
+    @BeforeEach
+    void setUp() {
+        Logger logger = new LoggerContext().getLogger(ErrorLogTest.class);
+        appender.start();
+        logger.addAppender(appender);
+        errorLog = new ErrorLog(logger, Duration.ofMinutes(1), now::get);
+    }
+
+    @Test
+    void error_LogsFirstOccurrencePerWindowAndSummarizesRepeats() {
+        for (int i = 0; i < 5; i++) {
+            errorLog.error("Error getting item", new IllegalStateException("Table unavailable"));
+        }
+        errorLog.error("Error getting item", new IllegalArgumentException("Bad key"));
+
+        assertEquals(2, appender.list.size());
+        assertEquals(Level.ERROR, appender.list.get(0).getLevel());
+        assertNotNull(appender.list.get(0).getThrowableProxy());
+
+        now.set(Duration.ofMinutes(1).toNanos());
+        errorLog.error("Error getting item", new IllegalStateException("Table unavailable"));
+
+        assertEquals(4, appender.list.size());
+        ILoggingEvent summary = appender.list.get(2);
+        assertEquals(Level.WARN, summary.getLevel());
+        assertEquals("Repeated errors not logged individually: Error getting item (IllegalStateException) x4",
+                summary.getFormattedMessage());
+        assertEquals(Level.ERROR, appender.list.get(3).getLevel());
+    }
+
+    @Test
+    void clientError_LogsShortMessageWithoutStackTrace() throws Exception {
+        JsonParser parser = new JsonFactory().createParser("{\"secret\": \"value\"}");
+        errorLog.clientError("Error parsing request body", new JsonParseException(parser, "Missing property"));
+        errorLog.clientError("Error parsing request body", new JsonParseException(parser, "Missing property"));
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertEquals(Level.WARN, event.getLevel());
+        assertNull(event.getThrowableProxy());
+        assertEquals("Error parsing request body: JsonParseException: Missing property", event.getFormattedMessage());
+
+        errorLog.flush();
+
+        assertEquals(2, appender.list.size());
+        assertEquals("Repeated errors not logged individually: Error parsing request body (JsonParseException) x1",
+                appender.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void flushIfDue_SummarizesABurstOnceTheWindowHasPassed() {
+        for (int i = 0; i < 3; i++) {
+            errorLog.error("Error getting item", new IllegalStateException("Table unavailable"));
+        }
+
+        now.set(Duration.ofSeconds(59).toNanos());
+        errorLog.flushIfDue();
+        assertEquals(1, appender.list.size());
+
+        now.set(Duration.ofSeconds(60).toNanos());
+        errorLog.flushIfDue();
+        errorLog.flushIfDue();
+
+        assertEquals(2, appender.list.size());
+        assertEquals("Repeated errors not logged individually: Error getting item (IllegalStateException) x2",
+                appender.list.get(1).getFormattedMessage());
+    }
+
+    @Test
+    void flush_ReportsEveryErrorCountedConcurrentlyExactlyOnce() throws Exception {
+        int threads = 4;
+        int errorsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                recorders.add(executor.submit(() -> {
+                    for (int i = 0; i < errorsPerThread; i++) {
+                        errorLog.clientError("Error parsing request body", new IllegalArgumentException("Bad"));
+                    }
+                }));
+            }
+            while (!recorders.stream().allMatch(Future::isDone)) {
+                errorLog.flush();
+            }
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        errorLog.flush();
+
+        // Each window logs its first error individually and the rest in its summary
+        long errors = appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .mapToLong(message -> message.startsWith("Repeated errors")
+                        ? Long.parseLong(message.substring(message.lastIndexOf(" x") + 2))
+                        : 1)
+                .sum();
+        assertEquals((long) threads * errorsPerThread, errors);
+    }
+
+    @Test
+    void flush_LogsNothingWithoutRepeats() {
+        errorLog.error("Error getting item", new IllegalStateException());
+
+        errorLog.flush();
+
+        assertEquals(1, appender.list.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.api.utils;
+
+import com.example.api.model.Item;
+import com.example.api.model.NewItem;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCodecTest {
+
+    private final JsonCodec json = JsonCodec.shared();
+
+    @Test
+    void itemWriter_WritesDateTimesAsIsoStringsAndReadsThemBackWithTheirOffset() throws Exception {
+        OffsetDateTime createdAt = OffsetDateTime.parse("2025-01-01T09:30:00+02:00");
+        Item item = new Item("item-1", "Name", null, createdAt, createdAt);
+
+        String written = json.write(item, json.itemWriter());
+        Item read = json.read(written, json.itemReader());
+
+        assertTrue(written.contains("\"createdAt\":\"2025-01-01T09:30:00+02:00\""), written);
+        assertEquals(createdAt, read.createdAt());
+        assertEquals("item-1", read.id());
+    }
+
+    @Test
+    void itemWriter_WritesDateTimesAsTheIsoFormatterDoes() throws Exception {
+        List<OffsetDateTime> values = List.of(
+                OffsetDateTime.parse("2025-01-01T00:00:00Z"),
+                OffsetDateTime.parse("2025-07-22T23:31:04.069Z"),
+                OffsetDateTime.parse("0001-02-03T04:05:06.000000007-09:30"),
+                OffsetDateTime.parse("2025-12-31T23:59:59.123456789+05:45:30"),
+                OffsetDateTime.parse("+10000-01-01T00:00:00.5+01:00"));
+
+        for (OffsetDateTime value : values) {
+            String written = json.write(new Item("a", "A", null, value, null), json.itemWriter());
+
+            String expected = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+            assertTrue(written.contains("\"createdAt\":\"" + expected + "\""), written);
+            assertTrue(written.contains("\"updatedAt\":null"), written);
+        }
+    }
+
+    @Test
+    void itemWriter_WritesOnlyTheSelectedFieldsInSchemaOrder() throws Exception {
+        OffsetDateTime now = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        Item item = new Item("item-1", "Name", "Long description", now, now);
+
+        String written = json.write(List.of(item), json.itemListWriter(Set.of("updatedAt", "id")));
+
+        assertEquals("[{\"id\":\"item-1\",\"updatedAt\":\"2025-01-01T00:00:00Z\"}]", written);
+        assertEquals(json.write(item, json.itemWriter()), json.write(item, json.itemWriter(null)));
+        assertEquals(Set.of("id", "name", "description", "createdAt", "updatedAt"), json.itemProperties());
+    }
+
+    @Test
+    void write_GeneratedWritersMatchDatabind() throws Exception {
+        OffsetDateTime now = OffsetDateTime.parse("2025-01-01T00:00:00Z");
+        Item item = new Item("a", "A", "Described \"quoted\"", now, null);
+
+        assertEquals(json.writerFor(Item.class).writeValueAsString(item), json.write(item));
+        assertEquals(json.writerFor(List.class).writeValueAsString(List.of(item, item)),
+                json.write(List.of(item, item), json.itemListWriter()));
+    }
+
+    @Test
+    void write_StartsCleanAfterAWriterFails() throws Exception {
+        JsonCodec.Writer<String> failing = (generator, value) -> {
+            generator.writeStartObject();
+            generator.writeStringField("partial", value);
+            throw new IOException("Writer failed");
+        };
+
+        assertThrows(IOException.class, () -> json.write("x".repeat(100_000), failing));
+
+        assertEquals("[\"a\"]", json.write(List.of("a"), JsonCodec.listOf(JsonGenerator::writeString)));
+    }
+
+    @Test
+    void read_ChecksRequiredPropertiesAndSkipsUnknownOnes() throws Exception {
+        NewItem newItem = json.read("{\"name\":\"A\",\"extra\":{\"nested\":[1,2]},\"description\":\"B\"}",
+                json.newItemReader());
+        Item update = json.read("{\"name\":\"Renamed\"}", json.itemUpdateReader());
+
+        assertEquals("A", newItem.name());
+        assertEquals("B", newItem.description());
+        assertEquals("Renamed", update.name());
+        assertNull(update.id());
+        JsonProcessingException missing = assertThrows(JsonProcessingException.class,
+                () -> json.read("{\"description\":\"B\"}", json.newItemReader()));
+        assertEquals(0, missing.getStackTrace().length);
+        assertThrows(JsonProcessingException.class, () -> json.read("{\"name\":\"A\"}", json.itemReader()));
+        assertThrows(JsonProcessingException.class, () -> json.read("[]", json.batchGetRequestReader()));
+        assertThrows(JsonProcessingException.class, () -> json.read("{\"ids\":\"a\"}", json.batchGetRequestReader()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.api.utils;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressorTest {
+
+    private final ResponseCompressor compressor = new ResponseCompressor(100);
+
+    @Test
+    void apply_GzipsLargeBodiesWhenAccepted() throws Exception {
+        String body = "[" + "{\"name\":\"Item\",\"description\":\"Descri\u00e7\u00e3o longa\"},".repeat(200) + "{}]";
+
+        // The buffers are reused between responses, so compress twice
+        for (int i = 0; i < 2; i++) {
+            APIGatewayProxyResponseEvent response = compressor.apply(request("deflate, gzip;q=0.5"), response(body));
+
+            assertTrue(response.getIsBase64Encoded());
+            assertEquals("gzip", response.getHeaders().get("Content-Encoding"));
+            assertEquals("Accept-Encoding", response.getHeaders().get("Vary"));
+            assertEquals("\"abc-gzip\"", response.getHeaders().get("ETag"));
+            byte[] compressed = Base64.getDecoder().decode(response.getBody());
+            assertTrue(compressed.length < body.length() / 10);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+                assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    void apply_LeavesBodyAloneWhenNotAcceptedOrTooSmall() {
+        String body = "{\"description\":\"" + "x".repeat(200) + "\"}";
+
+        APIGatewayProxyResponseEvent refused = compressor.apply(request("gzip;q=0, *"), response(body));
+        APIGatewayProxyResponseEvent small = compressor.apply(request("gzip"), response("{}"));
+
+        assertEquals(body, refused.getBody());
+        assertNull(refused.getIsBase64Encoded());
+        assertEquals("Accept-Encoding", refused.getHeaders().get("Vary"));
+        assertEquals("{}", small.getBody());
+        assertNull(small.getHeaders().get("Content-Encoding"));
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityAndWildcard() {
+        assertTrue(ResponseCompressor.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ResponseCompressor.acceptsGzip("br;q=1.0, *;q=0.1"));
+        assertFalse(ResponseCompressor.acceptsGzip("br, gzip;q=0"));
+        assertFalse(ResponseCompressor.acceptsGzip("identity"));
+        assertFalse(ResponseCompressor.acceptsGzip(null));
+    }
+
+    private static APIGatewayProxyRequestEvent request(String acceptEncoding) {
+        return new APIGatewayProxyRequestEvent().withHeaders(Map.of("accept-encoding", acceptEncoding));
+    }
+
+    private static APIGatewayProxyResponseEvent response(String body) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put("ETag", "\"abc\"");
+        return new APIGatewayProxyResponseEvent().withStatusCode(200).withHeaders(headers).withBody(body);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.api.utils;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteMetricsTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicLong wallClock = new AtomicLong(1_700_000_000_000L);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private RouteMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        Logger logger = new LoggerContext().getLogger(RouteMetricsTest.class);
+        appender.start();
+        logger.addAppender(appender);
+        metrics = new RouteMetrics(logger, "TestApi", Duration.ofMinutes(1), now::get, wallClock::get);
+    }
+
+    @Test
+    void flushIfDue_WritesOneEmfLinePerRouteOnceTheAggregateIsOldEnough() throws Exception {
+        metrics.record("GET /items/{itemId}", 200, 2_000_000, 0, 300);
+        metrics.record("GET /items/{itemId}", 404, 4_500_000, 0, 50);
+        metrics.record(RouteMetrics.UNMATCHED_ROUTE, 404, 1_000_000, 10, 60);
+
+        now.set(Duration.ofSeconds(59).toNanos());
+        metrics.flushIfDue();
+        assertTrue(appender.list.isEmpty());
+
+        now.set(Duration.ofSeconds(60).toNanos());
+        wallClock.addAndGet(60_000);
+        metrics.flushIfDue();
+
+        assertEquals(2, appender.list.size());
+        JsonNode line = appender.list.stream()
+                .map(event -> readTree(event.getFormattedMessage()))
+                .filter(node -> node.get("Route").asText().equals("GET /items/{itemId}"))
+                .findFirst()
+                .orElseThrow();
+        JsonNode directive = line.get("_aws").get("CloudWatchMetrics").get(0);
+        assertEquals(1_700_000_000_000L, line.get("_aws").get("Timestamp").asLong());
+        assertEquals("TestApi", directive.get("Namespace").asText());
+        assertEquals("Route", directive.get("Dimensions").get(0).get(0).asText());
+        for (JsonNode metric : directive.get("Metrics")) {
+            assertTrue(line.has(metric.get("Name").asText()), metric.toString());
+        }
+        assertEquals(2, line.get("Requests").asLong());
+        assertEquals(1, line.get("Status2xx").asLong());
+        assertEquals(1, line.get("Status4xx").asLong());
+        assertEquals(0, line.get("Status5xx").asLong());
+        assertEquals(2.0, line.get("Latency").get("Min").asDouble());
+        assertEquals(4.5, line.get("Latency").get("Max").asDouble());
+        assertEquals(6.5, line.get("Latency").get("Sum").asDouble());
+        assertEquals(2, line.get("Latency").get("Count").asLong());
+        assertEquals(350, line.get("ResponseSize").get("Sum").asLong());
+
+        now.set(Duration.ofSeconds(120).toNanos());
+        metrics.flushIfDue();
+        assertEquals(2, appender.list.size());
+    }
+
+    @Test
+    void record_WritesEachRequestAtOnceWithZeroMaximumAge() {
+        Logger logger = new LoggerContext().getLogger(RouteMetricsTest.class);
+        logger.addAppender(appender);
+        RouteMetrics unaggregated = new RouteMetrics(logger, "TestApi", Duration.ZERO, now::get, wallClock::get);
+
+        unaggregated.record("GET /items", 200, 1_000_000, 0, 10);
+
+        assertEquals(1, appender.list.size());
+        assertEquals(1, readTree(appender.list.get(0).getFormattedMessage()).get("Requests").asLong());
+    }
+
+    @Test
+    void flush_WritesStatisticSetsWithTheEmfFieldNames() {
+        metrics.record("GET /items", 200, 1_500_000, 20, 100);
+
+        metrics.flush();
+
+        JsonNode line = readTree(appender.list.get(0).getFormattedMessage());
+        for (String metric : new String[] {"Latency", "RequestSize", "ResponseSize"}) {
+            JsonNode statistics = line.get(metric);
+            List<String> names = new ArrayList<>();
+            statistics.fieldNames().forEachRemaining(names::add);
+            assertEquals(List.of("Min", "Max", "Sum", "Count"), names, metric);
+            for (JsonNode value : statistics) {
+                assertTrue(value.isNumber(), metric);
+            }
+        }
+        assertEquals(1.5, line.get("Latency").get("Sum").asDouble());
+        assertEquals(1, line.get("ResponseSize").get("Count").asLong());
+    }
+
+    @Test
+    void flush_CountsEveryRequestRecordedConcurrentlyExactlyOnce() throws Exception {
+        int threads = 4;
+        int requestsPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                recorders.add(executor.submit(() -> {
+                    for (int i = 0; i < requestsPerThread; i++) {
+                        metrics.record("GET /items", 200, 1_000, 0, 10);
+                    }
+                }));
+            }
+            while (!recorders.stream().allMatch(Future::isDone)) {
+                metrics.flush();
+            }
+            for (Future<?> recorder : recorders) {
+                recorder.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        metrics.flush();
+
+        long requests = appender.list.stream()
+                .mapToLong(event -> readTree(event.getFormattedMessage()).get("Requests").asLong())
+                .sum();
+        assertEquals((long) threads * requestsPerThread, requests);
+    }
+
+    @Test
+    void reset_DiscardsTheAggregate() {
+        metrics.record("GET /items", 200, 1_000_000, 0, 100);
+
+        metrics.reset();
+        metrics.flush();
+
+        assertTrue(appender.list.isEmpty());
+    }
+
+    private static JsonNode readTree(String json) {
+        try {
+            return JsonCodec.shared().mapper().readTree(json);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
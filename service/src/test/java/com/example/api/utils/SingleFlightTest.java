@@ -0,0 +1,50 @@
+package com.example.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void load_SharesFailureWithWaitingCallers() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> read = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("read failed");
+
+        CompletableFuture<String> leader = flight.load("key", () -> read);
+        CompletableFuture<String> follower = flight.load("key", () -> CompletableFuture.completedFuture("not used"));
+        read.completeExceptionally(failure);
+
+        assertSame(failure, assertThrows(CompletionException.class, leader::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, follower::join).getCause());
+        assertEquals(1, flight.coalescedCalls());
+    }
+
+    @Test
+    void load_StartsNewLoadAfterPreviousCompletes() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, flight.load("key", () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join());
+        assertEquals(2, flight.load("key", () -> CompletableFuture.completedFuture(loads.incrementAndGet())).join());
+        assertEquals(0, flight.coalescedCalls());
+    }
+
+    @Test
+    void load_CancellingOneCallerDoesNotAffectOthers() {
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CompletableFuture<String> read = new CompletableFuture<>();
+
+        CompletableFuture<String> leader = flight.load("key", () -> read);
+        CompletableFuture<String> follower = flight.load("key", () -> read);
+        leader.cancel(true);
+        read.complete("value");
+
+        assertEquals("value", follower.join());
+    }
+}
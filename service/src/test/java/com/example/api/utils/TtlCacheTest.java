@@ -0,0 +1,58 @@
+package com.example.api.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void get_ExpiresEntriesAfterTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(10, Duration.ofSeconds(5), now::get);
+        cache.put("a", "1");
+
+        now.set(Duration.ofSeconds(4).toNanos());
+        assertEquals("1", cache.get("a"));
+
+        now.set(Duration.ofSeconds(5).toNanos());
+        assertNull(cache.get("a"));
+
+        TtlCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.expirations());
+        assertEquals(0, stats.size());
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedWhenFull() {
+        TtlCache<String, String> cache = new TtlCache<>(2, Duration.ofSeconds(5), now::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        cache.put("c", "3");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(2, cache.stats().size());
+    }
+
+    @Test
+    void invalidate_RemovesEntry() {
+        TtlCache<String, String> cache = new TtlCache<>(2, Duration.ofSeconds(5), now::get);
+        cache.put("a", "1");
+
+        cache.invalidate("a");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.stats().evictions());
+    }
+}